@@ -0,0 +1,96 @@
+package com.wwj.util.java.benchmark;
+
+import com.wwj.util.java.excel.ExcelProperty;
+import com.wwj.util.java.excel.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * 导出50列对象时读取字段值的基准测试，对比每行创建BeanWrapper的旧方式和按类缓存MethodHandle的新方式，
+ * 新方式与ExcelUtil中的实现相同。writeStreaming为包含写入单元格和压缩的完整导出，用于衡量读取字段在导出中的占比。
+ * 结果的单位为每秒处理的行数
+ *
+ * @author wwj
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanAccessBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private List<WideExportRecord> data;
+
+    private String[] fieldNames;
+
+    private MethodHandle[] getters;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IllegalAccessException {
+        data = IntStream.range(0, ROWS).mapToObj(WideExportRecord::of).toList();
+        fieldNames = Stream.of(WideExportRecord.class.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(ExcelProperty.class))
+                .map(Field::getName)
+                .toArray(String[]::new);
+        getters = new MethodHandle[fieldNames.length];
+        for (int i = 0; i < fieldNames.length; i++) {
+            getters[i] = MethodHandles.publicLookup()
+                    .unreflect(BeanUtils.getPropertyDescriptor(WideExportRecord.class, fieldNames[i]).getReadMethod())
+                    .asType(MethodType.methodType(Object.class, Object.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void beanWrapper(Blackhole blackhole) {
+        for (WideExportRecord record : data) {
+            BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(record);
+            for (String fieldName : fieldNames) {
+                blackhole.consume(beanWrapper.getPropertyValue(fieldName));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void methodHandle(Blackhole blackhole) throws Throwable {
+        for (WideExportRecord record : data) {
+            for (MethodHandle getter : getters) {
+                blackhole.consume((Object) getter.invokeExact((Object) record));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void writeStreaming() {
+        ExcelUtil.writeStreaming(data.iterator(), OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,28 @@
+package com.wwj.util.java.benchmark;
+
+import org.openjdk.jmh.Main;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * benchmarks.jar的入口，参数与JMH相同，默认开启GC分析器，同时输出每次操作的内存分配
+ *
+ * @author wwj
+ */
+public class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> arguments = new ArrayList<>(List.of(args));
+        boolean gcProfiler = IntStream.range(0, args.length - 1)
+                .anyMatch(i -> "-prof".equals(args[i]) && args[i + 1].startsWith("gc"));
+        if (!gcProfiler) {
+            arguments.addAll(0, List.of("-prof", "gc"));
+        }
+        Main.main(arguments.toArray(String[]::new));
+    }
+}
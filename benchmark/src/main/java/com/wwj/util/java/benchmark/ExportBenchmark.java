@@ -0,0 +1,97 @@
+package com.wwj.util.java.benchmark;
+
+import com.wwj.util.java.excel.ExcelUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 导出的基准测试，对比一次性生成的XSSF和流式的SXSSF。
+ * XSSF需要将整个工作簿保存在内存中，100万行会耗尽堆内存，只测试到10万行
+ *
+ * @author wwj
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g"})
+public class ExportBenchmark {
+
+    @Benchmark
+    public Path writeToTempFile(XssfData data) {
+        data.file = ExcelUtil.writeToTempFile(data.records);
+        return data.file;
+    }
+
+    @Benchmark
+    public Path writeToTempFileStreaming(StreamingData data) {
+        data.file = ExcelUtil.writeToTempFileStreaming(data.records);
+        return data.file;
+    }
+
+    @State(Scope.Benchmark)
+    public static class XssfData extends ExportData {
+
+        @Param({"10000", "100000"})
+        private int rows;
+
+        @Override
+        int rows() {
+            return rows;
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class StreamingData extends ExportData {
+
+        @Param({"10000", "100000", "1000000"})
+        private int rows;
+
+        @Override
+        int rows() {
+            return rows;
+        }
+    }
+
+    /**
+     * 导出的数据和生成的临时文件，每次导出后删除临时文件
+     */
+    public abstract static class ExportData {
+
+        List<ExportRecord> records;
+
+        Path file;
+
+        abstract int rows();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            records = IntStream.range(0, rows()).mapToObj(ExportRecord::of).toList();
+        }
+
+        @TearDown(Level.Invocation)
+        public void deleteFile() throws IOException {
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.wwj.util.java.benchmark;
+
+import com.wwj.util.java.excel.ExcelProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 导出基准测试使用的数据
+ *
+ * @author wwj
+ */
+public class ExportRecord {
+
+    @ExcelProperty("编号")
+    private final long id;
+
+    @ExcelProperty("名称")
+    private final String name;
+
+    @ExcelProperty("数量")
+    private final int quantity;
+
+    @ExcelProperty("金额")
+    private final BigDecimal amount;
+
+    @ExcelProperty(value = "创建时间", width = 20)
+    private final LocalDateTime createTime;
+
+    public ExportRecord(long id, String name, int quantity, BigDecimal amount, LocalDateTime createTime) {
+        this.id = id;
+        this.name = name;
+        this.quantity = quantity;
+        this.amount = amount;
+        this.createTime = createTime;
+    }
+
+    /**
+     * 生成第i条测试数据
+     *
+     * @param i 序号
+     * @return 测试数据
+     */
+    public static ExportRecord of(int i) {
+        return new ExportRecord(i, "商品" + i, i % 100, BigDecimal.valueOf(i, 2),
+                LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+}
@@ -0,0 +1,129 @@
+package com.wwj.util.java.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import com.wwj.util.java.HttpUtil;
+import com.wwj.util.java.ThreadUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 并发发送阻塞HTTP请求的基准测试，对比{@link HttpUtil#sendAll}和引入它之前的做法：
+ * {@link ThreadUtil#forkJoinTasks(java.util.Collection, java.util.function.Function)}的共享线程池、
+ * 默认HttpClient线程池上的{@link HttpUtil#sendAsync(HttpRequest)}，以及固定大小的平台线程池。
+ * 本地服务端每个请求延迟{@link #LATENCY_MILLIS}毫秒，模拟慢的上游；在JDK 21以上运行sendAll才会使用虚拟线程，
+ * 低版本JDK使用最多256个平台线程的降级线程池
+ *
+ * @author wwj
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HttpFanOutBenchmark {
+
+    private static final int LATENCY_MILLIS = 20;
+
+    private static final int REQUESTS = 1000;
+
+    private static final byte[] RESPONSE = "{\"code\":0}".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"200"})
+    private int platformThreads;
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private ExecutorService platformExecutor;
+
+    private List<HttpRequest> httpRequests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        serverExecutor = ThreadUtil.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 4096);
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(LATENCY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, RESPONSE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(RESPONSE);
+            }
+        });
+        server.setExecutor(serverExecutor);
+        server.start();
+        platformExecutor = Executors.newFixedThreadPool(platformThreads);
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+        httpRequests = IntStream.range(0, REQUESTS)
+                .mapToObj(i -> HttpRequest.newBuilder(uri).version(HttpClient.Version.HTTP_1_1).build())
+                .toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        platformExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<String> forkJoinPool() {
+        return ThreadUtil.<HttpRequest, String>forkJoinTasks(httpRequests, HttpUtil::send);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<String> sendAsync() {
+        List<CompletableFuture<String>> futures = httpRequests.stream()
+                .map(HttpUtil::sendAsync)
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<String> platformThreads() {
+        List<CompletableFuture<String>> futures = httpRequests.stream()
+                .map(request -> CompletableFuture.supplyAsync(() -> HttpUtil.send(request), platformExecutor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public List<String> virtualThreads() {
+        return HttpUtil.sendAll(httpRequests);
+    }
+}
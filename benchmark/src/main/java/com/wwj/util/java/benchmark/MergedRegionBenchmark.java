@@ -0,0 +1,114 @@
+package com.wwj.util.java.benchmark;
+
+import com.wwj.util.java.excel.ExcelUtil;
+import com.wwj.util.java.excel.MergedRegionIndex;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * 合并单元格相关的基准测试：按单元格取值、建立索引后取值、合并累加
+ *
+ * @author wwj
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MergedRegionBenchmark {
+
+    private static final int LOOKUPS = 1000;
+
+    private static final int GROUP_SIZE = 4;
+
+    @Param({"1000", "10000"})
+    private int mergedRegions;
+
+    private Sheet sheet;
+
+    private MergedRegionIndex index;
+
+    private int[] lookupRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sheet = SheetFixtures.mergedSheet(mergedRegions, GROUP_SIZE);
+        index = MergedRegionIndex.of(sheet);
+        Random random = new Random(42);
+        lookupRows = random.ints(LOOKUPS, 0, mergedRegions * GROUP_SIZE).toArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getCellValue(Blackhole blackhole) {
+        for (int row : lookupRows) {
+            blackhole.consume(ExcelUtil.getCellValue(sheet, row, 0));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void getCellValueWithIndex(Blackhole blackhole) {
+        for (int row : lookupRows) {
+            blackhole.consume(ExcelUtil.getCellValue(index, row, 0));
+        }
+    }
+
+    @Benchmark
+    public MergedRegionIndex buildIndex() {
+        return MergedRegionIndex.of(sheet);
+    }
+
+    /**
+     * 合并累加会修改工作表，每次调用前重新生成。25000个合并单元格即10万行，用来确认删除行的耗时随行数线性增长
+     */
+    @State(Scope.Thread)
+    public static class ReduceState {
+
+        @Param({"1000", "10000", "25000"})
+        private int reduceRegions;
+
+        private Sheet sheet;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            sheet = SheetFixtures.mergedSheet(reduceRegions, GROUP_SIZE);
+        }
+    }
+
+    /**
+     * 大工作表单次合并就需要数秒，按单次调用计时
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Sheet mergedRegionReduce(ReduceState state) {
+        Map<Integer, BiConsumer<Cell, Cell>> accumulators =
+                Map.of(2, (sum, cell) -> sum.setCellValue(sum.getNumericCellValue() + cell.getNumericCellValue()));
+        ExcelUtil.mergedRegionReduce(state.sheet, 0, 0, List.of(1), accumulators);
+        return state.sheet;
+    }
+}
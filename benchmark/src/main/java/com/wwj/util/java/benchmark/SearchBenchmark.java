@@ -0,0 +1,81 @@
+package com.wwj.util.java.benchmark;
+
+import com.wwj.util.java.excel.CellValueIndex;
+import com.wwj.util.java.excel.ExcelUtil;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * 搜索单元格的基准测试，关键字位于工作表末尾，对比逐个搜索、批量搜索和值索引
+ *
+ * @author wwj
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SearchBenchmark {
+
+    private static final int COLS = 20;
+
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private Sheet sheet;
+
+    private List<String> keywords;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sheet = new XSSFWorkbook().createSheet();
+        for (int i = 0; i < rows; i++) {
+            Row row = sheet.createRow(i);
+            for (int j = 0; j < COLS; j++) {
+                row.createCell(j).setCellValue("值" + i + "-" + j);
+            }
+            // 每10行合并一次第0列
+            if (i % 10 == 9) {
+                sheet.addMergedRegionUnsafe(new CellRangeAddress(i - 9, i, 0, 0));
+            }
+        }
+        keywords = IntStream.range(0, 10).mapToObj(i -> "值" + (rows - 1) + "-" + i).toList();
+    }
+
+    @Benchmark
+    public Cell searchCell() {
+        return ExcelUtil.searchCell(sheet, keywords.get(0));
+    }
+
+    @Benchmark
+    public Map<String, Cell> searchCellBatch() {
+        return ExcelUtil.searchCell(sheet, keywords);
+    }
+
+    @Benchmark
+    public List<Cell> searchCellWithIndex() {
+        CellValueIndex index = CellValueIndex.of(sheet);
+        return keywords.stream().map(index::getFirstCell).toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.wwj.util.java.benchmark;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * 基准测试使用的工作表
+ *
+ * @author wwj
+ */
+final class SheetFixtures {
+
+    private SheetFixtures() {
+    }
+
+    /**
+     * 生成每{@code groupSize}行合并第0列的工作表，第1列是分组内的名称，第2列是数量
+     *
+     * @param groups    合并单元格的数量
+     * @param groupSize 每个合并单元格的行数
+     * @return 工作表
+     */
+    static Sheet mergedSheet(int groups, int groupSize) {
+        Sheet sheet = new XSSFWorkbook().createSheet();
+        for (int g = 0; g < groups; g++) {
+            int firstRow = g * groupSize;
+            for (int i = 0; i < groupSize; i++) {
+                Row row = sheet.createRow(firstRow + i);
+                row.createCell(0).setCellValue("分组" + g);
+                // 每个分组内名称只有两种，合并后剩下两行
+                row.createCell(1).setCellValue("名称" + (i % 2));
+                row.createCell(2).setCellValue(i);
+            }
+            sheet.addMergedRegionUnsafe(new CellRangeAddress(firstRow, firstRow + groupSize - 1, 0, 0));
+        }
+        return sheet;
+    }
+}
@@ -0,0 +1,425 @@
+package com.wwj.util.java.benchmark;
+
+import com.wwj.util.java.excel.ExcelProperty;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 导出基准测试使用的50列数据，字符串、整数、金额和时间类型的列交替出现
+ *
+ * @author wwj
+ */
+public class WideExportRecord {
+
+    @ExcelProperty("列1")
+    private String column1;
+
+    @ExcelProperty("列2")
+    private long column2;
+
+    @ExcelProperty("列3")
+    private int column3;
+
+    @ExcelProperty("列4")
+    private BigDecimal column4;
+
+    @ExcelProperty("列5")
+    private LocalDateTime column5;
+
+    @ExcelProperty("列6")
+    private String column6;
+
+    @ExcelProperty("列7")
+    private long column7;
+
+    @ExcelProperty("列8")
+    private int column8;
+
+    @ExcelProperty("列9")
+    private BigDecimal column9;
+
+    @ExcelProperty("列10")
+    private LocalDateTime column10;
+
+    @ExcelProperty("列11")
+    private String column11;
+
+    @ExcelProperty("列12")
+    private long column12;
+
+    @ExcelProperty("列13")
+    private int column13;
+
+    @ExcelProperty("列14")
+    private BigDecimal column14;
+
+    @ExcelProperty("列15")
+    private LocalDateTime column15;
+
+    @ExcelProperty("列16")
+    private String column16;
+
+    @ExcelProperty("列17")
+    private long column17;
+
+    @ExcelProperty("列18")
+    private int column18;
+
+    @ExcelProperty("列19")
+    private BigDecimal column19;
+
+    @ExcelProperty("列20")
+    private LocalDateTime column20;
+
+    @ExcelProperty("列21")
+    private String column21;
+
+    @ExcelProperty("列22")
+    private long column22;
+
+    @ExcelProperty("列23")
+    private int column23;
+
+    @ExcelProperty("列24")
+    private BigDecimal column24;
+
+    @ExcelProperty("列25")
+    private LocalDateTime column25;
+
+    @ExcelProperty("列26")
+    private String column26;
+
+    @ExcelProperty("列27")
+    private long column27;
+
+    @ExcelProperty("列28")
+    private int column28;
+
+    @ExcelProperty("列29")
+    private BigDecimal column29;
+
+    @ExcelProperty("列30")
+    private LocalDateTime column30;
+
+    @ExcelProperty("列31")
+    private String column31;
+
+    @ExcelProperty("列32")
+    private long column32;
+
+    @ExcelProperty("列33")
+    private int column33;
+
+    @ExcelProperty("列34")
+    private BigDecimal column34;
+
+    @ExcelProperty("列35")
+    private LocalDateTime column35;
+
+    @ExcelProperty("列36")
+    private String column36;
+
+    @ExcelProperty("列37")
+    private long column37;
+
+    @ExcelProperty("列38")
+    private int column38;
+
+    @ExcelProperty("列39")
+    private BigDecimal column39;
+
+    @ExcelProperty("列40")
+    private LocalDateTime column40;
+
+    @ExcelProperty("列41")
+    private String column41;
+
+    @ExcelProperty("列42")
+    private long column42;
+
+    @ExcelProperty("列43")
+    private int column43;
+
+    @ExcelProperty("列44")
+    private BigDecimal column44;
+
+    @ExcelProperty("列45")
+    private LocalDateTime column45;
+
+    @ExcelProperty("列46")
+    private String column46;
+
+    @ExcelProperty("列47")
+    private long column47;
+
+    @ExcelProperty("列48")
+    private int column48;
+
+    @ExcelProperty("列49")
+    private BigDecimal column49;
+
+    @ExcelProperty("列50")
+    private LocalDateTime column50;
+
+    /**
+     * 生成第i条测试数据
+     *
+     * @param i 序号
+     * @return 测试数据
+     */
+    public static WideExportRecord of(int i) {
+        WideExportRecord record = new WideExportRecord();
+        record.column1 = "值" + i + "-1";
+        record.column2 = i * 50L + 2;
+        record.column3 = i % 1000 + 3;
+        record.column4 = BigDecimal.valueOf(i * 50L + 4, 2);
+        record.column5 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 5);
+        record.column6 = "值" + i + "-6";
+        record.column7 = i * 50L + 7;
+        record.column8 = i % 1000 + 8;
+        record.column9 = BigDecimal.valueOf(i * 50L + 9, 2);
+        record.column10 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 10);
+        record.column11 = "值" + i + "-11";
+        record.column12 = i * 50L + 12;
+        record.column13 = i % 1000 + 13;
+        record.column14 = BigDecimal.valueOf(i * 50L + 14, 2);
+        record.column15 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 15);
+        record.column16 = "值" + i + "-16";
+        record.column17 = i * 50L + 17;
+        record.column18 = i % 1000 + 18;
+        record.column19 = BigDecimal.valueOf(i * 50L + 19, 2);
+        record.column20 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 20);
+        record.column21 = "值" + i + "-21";
+        record.column22 = i * 50L + 22;
+        record.column23 = i % 1000 + 23;
+        record.column24 = BigDecimal.valueOf(i * 50L + 24, 2);
+        record.column25 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 25);
+        record.column26 = "值" + i + "-26";
+        record.column27 = i * 50L + 27;
+        record.column28 = i % 1000 + 28;
+        record.column29 = BigDecimal.valueOf(i * 50L + 29, 2);
+        record.column30 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 30);
+        record.column31 = "值" + i + "-31";
+        record.column32 = i * 50L + 32;
+        record.column33 = i % 1000 + 33;
+        record.column34 = BigDecimal.valueOf(i * 50L + 34, 2);
+        record.column35 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 35);
+        record.column36 = "值" + i + "-36";
+        record.column37 = i * 50L + 37;
+        record.column38 = i % 1000 + 38;
+        record.column39 = BigDecimal.valueOf(i * 50L + 39, 2);
+        record.column40 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 40);
+        record.column41 = "值" + i + "-41";
+        record.column42 = i * 50L + 42;
+        record.column43 = i % 1000 + 43;
+        record.column44 = BigDecimal.valueOf(i * 50L + 44, 2);
+        record.column45 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 45);
+        record.column46 = "值" + i + "-46";
+        record.column47 = i * 50L + 47;
+        record.column48 = i % 1000 + 48;
+        record.column49 = BigDecimal.valueOf(i * 50L + 49, 2);
+        record.column50 = LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i + 50);
+        return record;
+    }
+
+    public String getColumn1() {
+        return column1;
+    }
+
+    public long getColumn2() {
+        return column2;
+    }
+
+    public int getColumn3() {
+        return column3;
+    }
+
+    public BigDecimal getColumn4() {
+        return column4;
+    }
+
+    public LocalDateTime getColumn5() {
+        return column5;
+    }
+
+    public String getColumn6() {
+        return column6;
+    }
+
+    public long getColumn7() {
+        return column7;
+    }
+
+    public int getColumn8() {
+        return column8;
+    }
+
+    public BigDecimal getColumn9() {
+        return column9;
+    }
+
+    public LocalDateTime getColumn10() {
+        return column10;
+    }
+
+    public String getColumn11() {
+        return column11;
+    }
+
+    public long getColumn12() {
+        return column12;
+    }
+
+    public int getColumn13() {
+        return column13;
+    }
+
+    public BigDecimal getColumn14() {
+        return column14;
+    }
+
+    public LocalDateTime getColumn15() {
+        return column15;
+    }
+
+    public String getColumn16() {
+        return column16;
+    }
+
+    public long getColumn17() {
+        return column17;
+    }
+
+    public int getColumn18() {
+        return column18;
+    }
+
+    public BigDecimal getColumn19() {
+        return column19;
+    }
+
+    public LocalDateTime getColumn20() {
+        return column20;
+    }
+
+    public String getColumn21() {
+        return column21;
+    }
+
+    public long getColumn22() {
+        return column22;
+    }
+
+    public int getColumn23() {
+        return column23;
+    }
+
+    public BigDecimal getColumn24() {
+        return column24;
+    }
+
+    public LocalDateTime getColumn25() {
+        return column25;
+    }
+
+    public String getColumn26() {
+        return column26;
+    }
+
+    public long getColumn27() {
+        return column27;
+    }
+
+    public int getColumn28() {
+        return column28;
+    }
+
+    public BigDecimal getColumn29() {
+        return column29;
+    }
+
+    public LocalDateTime getColumn30() {
+        return column30;
+    }
+
+    public String getColumn31() {
+        return column31;
+    }
+
+    public long getColumn32() {
+        return column32;
+    }
+
+    public int getColumn33() {
+        return column33;
+    }
+
+    public BigDecimal getColumn34() {
+        return column34;
+    }
+
+    public LocalDateTime getColumn35() {
+        return column35;
+    }
+
+    public String getColumn36() {
+        return column36;
+    }
+
+    public long getColumn37() {
+        return column37;
+    }
+
+    public int getColumn38() {
+        return column38;
+    }
+
+    public BigDecimal getColumn39() {
+        return column39;
+    }
+
+    public LocalDateTime getColumn40() {
+        return column40;
+    }
+
+    public String getColumn41() {
+        return column41;
+    }
+
+    public long getColumn42() {
+        return column42;
+    }
+
+    public int getColumn43() {
+        return column43;
+    }
+
+    public BigDecimal getColumn44() {
+        return column44;
+    }
+
+    public LocalDateTime getColumn45() {
+        return column45;
+    }
+
+    public String getColumn46() {
+        return column46;
+    }
+
+    public long getColumn47() {
+        return column47;
+    }
+
+    public int getColumn48() {
+        return column48;
+    }
+
+    public BigDecimal getColumn49() {
+        return column49;
+    }
+
+    public LocalDateTime getColumn50() {
+        return column50;
+    }
+}
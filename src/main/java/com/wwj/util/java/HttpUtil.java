@@ -2,9 +2,11 @@ package com.wwj.util.java;
 
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
+import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.lang.Nullable;
@@ -23,6 +25,8 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.CookieHandler;
 import java.net.CookieManager;
 import java.net.URI;
 import java.net.URLDecoder;
@@ -33,15 +37,33 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.StringTokenizer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.BiPredicate;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 
 /**
  * HTTP工具类
@@ -52,13 +74,62 @@ import java.util.zip.GZIPInputStream;
 @Slf4j
 public class HttpUtil {
 
-    private static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
+    /**
+     * 默认HttpClient的名称，重新注册该名称可以调整所有未指定HttpClient的请求
+     */
+    public static final String DEFAULT_CLIENT = "default";
+
+    private static final Map<String, HttpClient> CLIENTS = new ConcurrentHashMap<>();
+
+    /**
+     * 并发发送阻塞请求的线程池，支持虚拟线程时每个请求使用一个虚拟线程，否则最多使用256个平台线程，超出的请求排队
+     *
+     * @see ThreadUtil#newVirtualThreadPerTaskExecutor()
+     */
+    private static final ExecutorService FAN_OUT_EXECUTOR = ThreadUtil.newVirtualThreadPerTaskExecutor();
 
     private static final String APPLICATION_JSON_UTF8_VALUE = "application/json;charset=UTF-8";
 
+    /**
+     * 请求压缩的响应，JDK没有内置brotli解码，所以不声明br
+     */
+    private static final String ACCEPT_ENCODING_VALUE = "gzip, deflate";
+
+    static {
+        registerClient(DEFAULT_CLIENT, HttpClientProfile.builder().build());
+    }
+
     private HttpUtil() {
     }
 
+    /**
+     * 按配置创建HttpClient并注册为指定名称，同名的HttpClient会被替换。
+     * 不同上游使用各自的HttpClient和线程池，一个上游响应慢不会占满其他请求使用的线程
+     *
+     * @param name    名称
+     * @param profile HttpClient配置
+     * @return 新创建的HttpClient
+     */
+    public static HttpClient registerClient(String name, HttpClientProfile profile) {
+        Assert.hasText(name, "name不能为空");
+        Assert.notNull(profile, "profile不能为空");
+        HttpClient client = profile.newClient();
+        CLIENTS.put(name, client);
+        return client;
+    }
+
+    /**
+     * 获取已注册的HttpClient
+     *
+     * @param name 名称
+     * @return HttpClient
+     */
+    public static HttpClient getClient(String name) {
+        HttpClient client = CLIENTS.get(name);
+        Assert.notNull(client, "HttpClient未注册: " + name);
+        return client;
+    }
+
     /**
      * 新建一个带Cookie管理器的HttpClient
      */
@@ -259,7 +330,19 @@ public class HttpUtil {
      * @throws RestClientException 网络异常
      */
     public static String send(HttpRequest request) {
-        return send(request, (statusCode, body) -> HttpStatus.valueOf(statusCode).is2xxSuccessful());
+        return send(getClient(DEFAULT_CLIENT), request);
+    }
+
+    /**
+     * 使用指定的HttpClient发送HTTP请求,返回的HTTP状态码为2xx则认为请求成功
+     *
+     * @param client  HttpClient
+     * @param request HTTP请求
+     * @return 请求成功返回的结果
+     * @throws RestClientException 网络异常
+     */
+    public static String send(HttpClient client, HttpRequest request) {
+        return send(client, request, (statusCode, body) -> HttpStatus.valueOf(statusCode).is2xxSuccessful());
     }
 
     /**
@@ -271,38 +354,200 @@ public class HttpUtil {
      * @throws RestClientException 网络异常
      */
     public static String send(HttpRequest request, BiPredicate<Integer, String> successPredicate) {
-        HttpResponse<byte[]> response = send(request, HttpResponse.BodyHandlers.ofByteArray());
-        HttpStatus responseHttpStatus = HttpStatus.valueOf(response.statusCode());
-        // 3xx重定向
-        if (responseHttpStatus.is3xxRedirection()) {
-            URI redirectionUri = response.headers().firstValue(HttpHeaders.LOCATION).map(URI::create).orElse(null);
-            if (redirectionUri != null) {
-                String redirectionUrl = redirectionUri.isAbsolute() ? redirectionUri.toString() : request.uri()
-                        .resolve(redirectionUri)
-                        .toString();
-                return get(redirectionUrl);
-            }
+        return send(getClient(DEFAULT_CLIENT), request, successPredicate);
+    }
+
+    /**
+     * 使用指定的HttpClient发送HTTP请求
+     *
+     * @param client           HttpClient
+     * @param request          HTTP请求
+     * @param successPredicate 判断请求成功的断言
+     * @return 请求成功返回的结果
+     * @throws RestClientException 网络异常
+     */
+    public static String send(HttpClient client, HttpRequest request, BiPredicate<Integer, String> successPredicate) {
+        HttpResponse<InputStream> response = send(client, acceptEncoding(request), HttpResponse.BodyHandlers.ofInputStream());
+        URI redirectionUri = getRedirectionUri(request, response);
+        if (redirectionUri != null) {
+            closeQuietly(response.body());
+            return send(client, HttpRequest.newBuilder(redirectionUri).GET().build());
         }
+        return checkResponseBody(response, readBody(response, response.body()), successPredicate);
+    }
+
+    /**
+     * 发送HTTP请求，并将解压后的响应体以流的方式交给bodyReader读取，响应体不会整个加载到内存中，
+     * 适合较大的响应，如交给流式的JSON解析器。返回的HTTP状态码为2xx则认为请求成功
+     *
+     * @param request    HTTP请求
+     * @param bodyReader 读取响应体，需要在返回前读取完毕，返回后流会被关闭
+     * @param <T>        读取的结果类型
+     * @return bodyReader读取的结果
+     * @throws RestClientException 网络异常
+     */
+    public static <T> T sendAndRead(HttpRequest request, Function<InputStream, T> bodyReader) {
+        return sendAndRead(getClient(DEFAULT_CLIENT), request, bodyReader);
+    }
 
-        byte[] body = response.body();
-        String responseBody = isGzip(body) ? gunzip(body) : new String(body, StandardCharsets.UTF_8);
-        if (successPredicate.test(response.statusCode(), responseBody)) {
-            return responseBody;
+    /**
+     * 使用指定的HttpClient发送HTTP请求，并将解压后的响应体以流的方式交给bodyReader读取，返回的HTTP状态码为2xx则认为请求成功
+     *
+     * @param client     HttpClient
+     * @param request    HTTP请求
+     * @param bodyReader 读取响应体，需要在返回前读取完毕，返回后流会被关闭
+     * @param <T>        读取的结果类型
+     * @return bodyReader读取的结果
+     * @throws RestClientException 网络异常
+     */
+    public static <T> T sendAndRead(HttpClient client, HttpRequest request, Function<InputStream, T> bodyReader) {
+        Assert.notNull(bodyReader, "bodyReader不能为空");
+        HttpResponse<InputStream> response = send(client, acceptEncoding(request), HttpResponse.BodyHandlers.ofInputStream());
+        URI redirectionUri = getRedirectionUri(request, response);
+        if (redirectionUri != null) {
+            closeQuietly(response.body());
+            return sendAndRead(client, HttpRequest.newBuilder(redirectionUri).GET().build(), bodyReader);
         }
-        HttpHeaders httpHeaders = new HttpHeaders();
-        response.headers().map().forEach(httpHeaders::addAll);
+        if (!HttpStatus.valueOf(response.statusCode()).is2xxSuccessful()) {
+            throw createException(response, readBody(response, response.body()));
+        }
+        // 原始响应体单独关闭，decodeBody读取压缩头失败时也不会泄漏连接
+        try (InputStream body = response.body(); InputStream in = decodeBody(response, body)) {
+            return bodyReader.apply(in);
+        } catch (IOException e) {
+            throw new RestClientException("读取HTTP响应失败", e);
+        }
+    }
 
-        throw HttpClientErrorException.create(responseHttpStatus, responseHttpStatus.name(), httpHeaders, body, StandardCharsets.UTF_8);
+    /**
+     * 并发发送多个HTTP请求，每个请求在虚拟线程中阻塞执行(不支持虚拟线程时最多同时使用256个普通线程)，返回的HTTP状态码为2xx则认为请求成功
+     *
+     * @param requests HTTP请求
+     * @return 按请求顺序排列的结果
+     * @throws RestClientException 任意一个请求失败
+     */
+    public static List<String> sendAll(Collection<HttpRequest> requests) {
+        return sendAll(getClient(DEFAULT_CLIENT), requests);
     }
 
     /**
-     * 异步发送请求
+     * 使用指定的HttpClient并发发送多个HTTP请求，每个请求在虚拟线程中阻塞执行(不支持虚拟线程时最多同时使用256个普通线程)，
+     * 返回的HTTP状态码为2xx则认为请求成功
+     *
+     * @param client   HttpClient
+     * @param requests HTTP请求
+     * @return 按请求顺序排列的结果
+     * @throws RestClientException 任意一个请求失败，第一个失败的请求完成后立即抛出，并打断其他仍在执行的请求
+     */
+    public static List<String> sendAll(HttpClient client, Collection<HttpRequest> requests) {
+        Assert.notNull(client, "client不能为空");
+        Assert.notNull(requests, "requests不能为空");
+        // 按完成顺序取结果，任意一个请求失败时不必等待排在它前面的慢请求
+        CompletionService<String> completionService = new ExecutorCompletionService<>(FAN_OUT_EXECUTOR);
+        List<Future<String>> futures = new ArrayList<>(requests.size());
+        try {
+            for (HttpRequest request : requests) {
+                futures.add(completionService.submit(() -> send(client, request)));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                completionService.take().get();
+            }
+            List<String> results = new ArrayList<>(futures.size());
+            for (Future<String> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestClientException("HTTP请求网络错误", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException re ? re : new RestClientException("HTTP请求失败", e.getCause());
+        } finally {
+            // 已完成的请求不受影响，仍在执行的请求被打断，HttpClient.send响应打断并取消请求
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * 异步发送请求，请求成功后执行completedAction，请求失败时记录错误日志
      *
      * @param request         HTTP请求
      * @param completedAction 请求执行完成后执行动作
+     * @see #sendAsync(HttpRequest)
      */
     public static void sendAsync(HttpRequest request, Consumer<String> completedAction) {
-        HTTP_CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(HttpResponse::body).thenAccept(completedAction);
+        Assert.notNull(completedAction, "completedAction不能为空");
+        sendAsync(request)
+                .thenAccept(completedAction)
+                .exceptionally(e -> {
+                    log.error("异步HTTP请求失败: {}", request.uri(), e);
+                    return null;
+                });
+    }
+
+    /**
+     * 异步发送HTTP请求,返回的HTTP状态码为2xx则认为请求成功，与{@link #send(HttpRequest)}的处理方式相同，不会阻塞调用线程
+     *
+     * @param request HTTP请求
+     * @return 请求成功时完成的结果，网络异常时以{@link RestClientException}异常完成，
+     * 请求不成功时以{@link HttpClientErrorException}异常完成
+     */
+    public static CompletableFuture<String> sendAsync(HttpRequest request) {
+        return sendAsync(getClient(DEFAULT_CLIENT), request);
+    }
+
+    /**
+     * 异步发送HTTP请求，与{@link #send(HttpRequest, BiPredicate)}的处理方式相同，不会阻塞调用线程
+     *
+     * @param request          HTTP请求
+     * @param successPredicate 判断请求成功的断言
+     * @return 请求成功时完成的结果，网络异常时以{@link RestClientException}异常完成，
+     * 请求不成功时以{@link HttpClientErrorException}异常完成
+     */
+    public static CompletableFuture<String> sendAsync(HttpRequest request, BiPredicate<Integer, String> successPredicate) {
+        return sendAsync(getClient(DEFAULT_CLIENT), request, successPredicate);
+    }
+
+    /**
+     * 使用指定的HttpClient异步发送HTTP请求,返回的HTTP状态码为2xx则认为请求成功
+     *
+     * @param client  HttpClient
+     * @param request HTTP请求
+     * @return 请求成功时完成的结果，网络异常时以{@link RestClientException}异常完成，
+     * 请求不成功时以{@link HttpClientErrorException}异常完成
+     */
+    public static CompletableFuture<String> sendAsync(HttpClient client, HttpRequest request) {
+        return sendAsync(client, request, (statusCode, body) -> HttpStatus.valueOf(statusCode).is2xxSuccessful());
+    }
+
+    /**
+     * 使用指定的HttpClient异步发送HTTP请求，与{@link #send(HttpClient, HttpRequest, BiPredicate)}的处理方式相同，
+     * 响应在HttpClient的executor中处理
+     *
+     * @param client           HttpClient
+     * @param request          HTTP请求
+     * @param successPredicate 判断请求成功的断言
+     * @return 请求成功时完成的结果，网络异常时以{@link RestClientException}异常完成，
+     * 请求不成功时以{@link HttpClientErrorException}异常完成
+     */
+    public static CompletableFuture<String> sendAsync(HttpClient client, HttpRequest request,
+                                                      BiPredicate<Integer, String> successPredicate) {
+        Assert.notNull(client, "client不能为空");
+        Assert.notNull(request, "request不能为空");
+        Assert.notNull(successPredicate, "successPredicate不能为空");
+        return client.sendAsync(acceptEncoding(request), HttpResponse.BodyHandlers.ofByteArray())
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                    return CompletableFuture.failedFuture(new RestClientException("HTTP请求网络错误", cause));
+                })
+                .thenCompose(response -> {
+                    URI redirectionUri = getRedirectionUri(request, response);
+                    if (redirectionUri != null) {
+                        return sendAsync(client, HttpRequest.newBuilder(redirectionUri).GET().build());
+                    }
+                    String body = readBody(response, new ByteArrayInputStream(response.body()));
+                    return CompletableFuture.completedFuture(checkResponseBody(response, body, successPredicate));
+                });
     }
 
     /**
@@ -328,7 +573,7 @@ public class HttpUtil {
      */
     public static void downloadFile(String url, Path filePath) {
         HttpRequest request = HttpRequest.newBuilder(URI.create(url)).build();
-        InputStream inputStream = send(request, HttpResponse.BodyHandlers.ofInputStream()).body();
+        InputStream inputStream = send(getClient(DEFAULT_CLIENT), request, HttpResponse.BodyHandlers.ofInputStream()).body();
         try {
             Files.createDirectories(filePath.getParent());
             if (Files.notExists(filePath)) {
@@ -348,7 +593,7 @@ public class HttpUtil {
      */
     public static RemoteFileInfo getRemoteFileInfo(String url) {
         HttpRequest request = HttpRequest.newBuilder(URI.create(url)).method("HEAD", HttpRequest.BodyPublishers.noBody()).build();
-        HttpResponse<Void> response = send(request, HttpResponse.BodyHandlers.discarding());
+        HttpResponse<Void> response = send(getClient(DEFAULT_CLIENT), request, HttpResponse.BodyHandlers.discarding());
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.putAll(response.headers().map());
         DataSize dataSize = DataSize.ofBytes(httpHeaders.getContentLength());
@@ -384,6 +629,143 @@ public class HttpUtil {
         }
     }
 
+    /**
+     * 获取3xx响应重定向的地址，不需要重定向时返回null
+     */
+    @Nullable
+    private static URI getRedirectionUri(HttpRequest request, HttpResponse<?> response) {
+        if (!HttpStatus.valueOf(response.statusCode()).is3xxRedirection()) {
+            return null;
+        }
+        return response.headers().firstValue(HttpHeaders.LOCATION)
+                .map(URI::create)
+                .map(uri -> uri.isAbsolute() ? uri : request.uri().resolve(uri))
+                .orElse(null);
+    }
+
+    /**
+     * 响应体满足successPredicate时返回响应体，否则抛出异常
+     */
+    private static String checkResponseBody(HttpResponse<?> response, String body,
+                                            BiPredicate<Integer, String> successPredicate) {
+        if (successPredicate.test(response.statusCode(), body)) {
+            return body;
+        }
+        throw createException(response, body);
+    }
+
+    /**
+     * 根据请求失败的响应创建异常
+     */
+    private static HttpClientErrorException createException(HttpResponse<?> response, String body) {
+        HttpStatus responseHttpStatus = HttpStatus.valueOf(response.statusCode());
+        HttpHeaders httpHeaders = new HttpHeaders();
+        response.headers().map().forEach(httpHeaders::addAll);
+        return HttpClientErrorException.create(responseHttpStatus, responseHttpStatus.name(), httpHeaders,
+                body.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 读取解压后的完整响应体并关闭流
+     */
+    private static String readBody(HttpResponse<?> response, InputStream body) {
+        try (body; InputStream in = decodeBody(response, body)) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new RestClientException("读取HTTP响应失败", e);
+        }
+    }
+
+    /**
+     * 请求没有指定Accept-Encoding时声明接受gzip和deflate压缩的响应
+     */
+    private static HttpRequest acceptEncoding(HttpRequest request) {
+        if (request.headers().firstValue(HttpHeaders.ACCEPT_ENCODING).isPresent()) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .header(HttpHeaders.ACCEPT_ENCODING, ACCEPT_ENCODING_VALUE)
+                .build();
+    }
+
+    /**
+     * 按照Content-Encoding将响应体包装为边读边解压的流，不会先读取完整的压缩数据。
+     * 没有Content-Encoding时根据魔数判断是否为gzip，兼容不返回响应头的服务端。
+     * 204、304和HEAD请求的响应以及空响应体不解压，直接返回空流。
+     * 抛出异常时不会关闭body，由调用方关闭
+     */
+    private static InputStream decodeBody(HttpResponse<?> response, InputStream body) throws IOException {
+        if (!hasBody(response)) {
+            return InputStream.nullInputStream();
+        }
+        // 先读取前两个字节，空响应体即使声明了压缩也没有压缩头，不能交给解压流
+        PushbackInputStream in = new PushbackInputStream(body, 2);
+        byte[] magic = in.readNBytes(2);
+        if (magic.length == 0) {
+            return InputStream.nullInputStream();
+        }
+        in.unread(magic);
+        List<String> encodings = response.headers().allValues(HttpHeaders.CONTENT_ENCODING).stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(encoding -> encoding.trim().toLowerCase(Locale.ROOT))
+                .filter(encoding -> !encoding.isEmpty() && !"identity".equals(encoding))
+                .toList();
+        if (encodings.isEmpty()) {
+            return isGzip(magic) ? new GZIPInputStream(in) : in;
+        }
+        // 多个编码按应用的顺序排列，解码时倒序处理
+        InputStream decoded = in;
+        for (int i = encodings.size() - 1; i >= 0; i--) {
+            decoded = switch (encodings.get(i)) {
+                case "gzip", "x-gzip" -> new GZIPInputStream(decoded);
+                case "deflate" -> inflate(decoded);
+                default -> throw new RestClientException("不支持的Content-Encoding: " + encodings.get(i));
+            };
+        }
+        return decoded;
+    }
+
+    /**
+     * 判断响应是否可能有响应体，204、304和HEAD请求的响应没有响应体
+     */
+    private static boolean hasBody(HttpResponse<?> response) {
+        int statusCode = response.statusCode();
+        return statusCode != HttpStatus.NO_CONTENT.value() && statusCode != HttpStatus.NOT_MODIFIED.value()
+                && !HttpMethod.HEAD.name().equals(response.request().method());
+    }
+
+    /**
+     * 解压deflate编码的流，标准的deflate是zlib格式，部分服务端返回不带zlib头的原始deflate数据，根据前两个字节区分
+     */
+    private static InputStream inflate(InputStream body) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(body, 2);
+        byte[] header = in.readNBytes(2);
+        in.unread(header);
+        // zlib头的压缩方法为8，并且前两个字节组成的数是31的倍数
+        boolean zlib = header.length == 2 && (header[0] & 0x0F) == 8
+                && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+        Inflater inflater = new Inflater(!zlib);
+        return new InflaterInputStream(in, inflater) {
+
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static void closeQuietly(InputStream inputStream) {
+        try {
+            inputStream.close();
+        } catch (IOException ignored) {
+            // 丢弃不需要的响应体
+        }
+    }
+
     /**
      * 当路径下的文件名已存在时，自动修改文件名，规则为原始文件名后面增加(n)
      */
@@ -413,9 +795,10 @@ public class HttpUtil {
     /**
      * 发送网络请求
      */
-    private static <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler) {
+    private static <T> HttpResponse<T> send(HttpClient client, HttpRequest request,
+                                            HttpResponse.BodyHandler<T> responseBodyHandler) {
         try {
-            return HTTP_CLIENT.send(request, responseBodyHandler);
+            return client.send(request, responseBodyHandler);
         } catch (IOException e) {
             throw new RestClientException("HTTP请求网络错误", e);
         } catch (InterruptedException e) {
@@ -426,6 +809,67 @@ public class HttpUtil {
 
     public record UsernamePasswordAuthenticationToken(String username, String password) {}
 
+    /**
+     * HttpClient的配置，通过{@link #registerClient(String, HttpClientProfile)}注册为命名的HttpClient
+     */
+    @Getter
+    @Builder
+    public static class HttpClientProfile {
+
+        /**
+         * 建立连接的超时时间
+         */
+        @Builder.Default
+        private Duration connectTimeout = Duration.ofSeconds(10);
+
+        /**
+         * 优先使用的HTTP版本，服务端不支持HTTP/2时自动降级为HTTP/1.1
+         */
+        @Builder.Default
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+
+        /**
+         * 重定向策略，默认不自动重定向，由{@link #send(HttpClient, HttpRequest, BiPredicate)}处理3xx响应
+         */
+        @Builder.Default
+        private HttpClient.Redirect redirect = HttpClient.Redirect.NEVER;
+
+        /**
+         * 执行异步请求和处理响应的线程池，为null时使用HttpClient默认的线程池
+         */
+        @Nullable
+        private Executor executor;
+
+        /**
+         * 没有指定executor时是否使用虚拟线程，JDK不支持虚拟线程时使用按需创建的普通线程
+         *
+         * @see ThreadUtil#newVirtualThreadPerTaskExecutor()
+         */
+        private boolean virtualThreads;
+
+        /**
+         * Cookie管理器，为null时不保存Cookie
+         */
+        @Nullable
+        private CookieHandler cookieHandler;
+
+        private HttpClient newClient() {
+            HttpClient.Builder builder = HttpClient.newBuilder()
+                    .connectTimeout(connectTimeout)
+                    .version(version)
+                    .followRedirects(redirect);
+            if (executor != null) {
+                builder.executor(executor);
+            } else if (virtualThreads) {
+                builder.executor(ThreadUtil.newVirtualThreadPerTaskExecutor());
+            }
+            if (cookieHandler != null) {
+                builder.cookieHandler(cookieHandler);
+            }
+            return builder.build();
+        }
+    }
+
     @Getter
     @AllArgsConstructor
     public static class RemoteFileInfo {
@@ -2,15 +2,22 @@ package com.wwj.util.java;
 
 import com.wwj.util.java.bean.BeanUtil;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -26,6 +33,15 @@ public class ThreadUtil {
 
     private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() * 2;
     private static final ForkJoinPool FORK_JOIN_POOL = new ForkJoinPool(POOL_SIZE);
+    /**
+     * 不支持虚拟线程时降级线程池的最大线程数，超出的任务排队等待
+     */
+    private static final int MAX_FALLBACK_THREADS = 256;
+    /**
+     * JDK 21的Executors.newVirtualThreadPerTaskExecutor，低版本JDK为null
+     */
+    private static final Method VIRTUAL_THREAD_EXECUTOR_FACTORY =
+            ClassUtils.getStaticMethod(Executors.class, "newVirtualThreadPerTaskExecutor");
 
     static {
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
@@ -39,6 +55,39 @@ public class ThreadUtil {
     private ThreadUtil() {
     }
 
+    /**
+     * 当前运行的JDK是否支持虚拟线程(JDK 21及以上)
+     *
+     * @return 是否支持虚拟线程
+     */
+    public static boolean isVirtualThreadSupported() {
+        return VIRTUAL_THREAD_EXECUTOR_FACTORY != null;
+    }
+
+    /**
+     * 创建每个任务使用一个虚拟线程的线程池，适合大量阻塞IO的任务，项目按JDK 17编译，通过反射调用JDK 21的API。
+     * 不支持虚拟线程时降级为最多{@value #MAX_FALLBACK_THREADS}个守护线程的线程池，超出的任务排队，空闲线程60秒后回收
+     *
+     * @return 线程池，使用完需要关闭
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (VIRTUAL_THREAD_EXECUTOR_FACTORY != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_EXECUTOR_FACTORY.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                log.warn("创建虚拟线程池失败，使用普通线程池", e);
+            }
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAX_FALLBACK_THREADS, MAX_FALLBACK_THREADS,
+                60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     /**
      * 使用ForkJoinPool线程池来执行批量操作
      *
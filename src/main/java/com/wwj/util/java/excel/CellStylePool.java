@@ -0,0 +1,132 @@
+package com.wwj.util.java.excel;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.util.Assert;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+/**
+ * 工作簿范围内的单元格样式池，对"原样式+修改项"相同的样式只创建一次，之后以O(1)的复杂度返回缓存的样式，
+ * 避免工作簿中的样式数量不断膨胀到上限。
+ * 样式池只缓存样式的索引，不会阻止工作簿被回收
+ *
+ * @author wwj
+ */
+public final class CellStylePool {
+
+    private static final Map<Workbook, CellStylePool> POOLS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final String BORDER = "border";
+
+    private static final String FILL_FOREGROUND_COLOR = "fillForegroundColor";
+
+    private static final String DATA_FORMAT = "dataFormat";
+
+    private final WeakReference<Workbook> workbook;
+
+    private final Map<StyleKey, Integer> styles = new HashMap<>();
+
+    private CellStylePool(Workbook workbook) {
+        this.workbook = new WeakReference<>(workbook);
+    }
+
+    /**
+     * 获取工作簿的样式池，同一个工作簿总是返回同一个样式池
+     *
+     * @param workbook 工作簿
+     * @return 样式池
+     */
+    public static CellStylePool of(Workbook workbook) {
+        Assert.notNull(workbook, "workbook不能为空");
+        return POOLS.computeIfAbsent(workbook, CellStylePool::new);
+    }
+
+    /**
+     * 获取在base的基础上设置了四周边框的样式
+     *
+     * @param base        原样式
+     * @param borderStyle 边框样式
+     * @return 缓存的样式
+     */
+    public CellStyle withBorder(CellStyle base, BorderStyle borderStyle) {
+        return derive(base, BORDER, borderStyle, style -> {
+            style.setBorderTop(borderStyle);
+            style.setBorderRight(borderStyle);
+            style.setBorderBottom(borderStyle);
+            style.setBorderLeft(borderStyle);
+        });
+    }
+
+    /**
+     * 获取在base的基础上设置了背景色的样式，原样式没有填充时使用纯色填充
+     *
+     * @param base  原样式
+     * @param color 背景色的索引
+     * @return 缓存的样式
+     */
+    public CellStyle withFillForegroundColor(CellStyle base, short color) {
+        return derive(base, FILL_FOREGROUND_COLOR, color, style -> {
+            style.setFillForegroundColor(color);
+            if (style.getFillPattern() == FillPatternType.NO_FILL) {
+                style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            }
+        });
+    }
+
+    /**
+     * 获取在base的基础上设置了数据格式的样式
+     *
+     * @param base   原样式
+     * @param format 数据格式，如"yyyy-mm-dd"
+     * @return 缓存的样式
+     */
+    public CellStyle withDataFormat(CellStyle base, String format) {
+        return derive(base, DATA_FORMAT, format,
+                style -> style.setDataFormat(getWorkbook().createDataFormat().getFormat(format)));
+    }
+
+    /**
+     * 获取在base的基础上修改了一项属性的样式，name和value相同的修改只会创建一次新样式
+     *
+     * @param base     原样式
+     * @param name     修改项的名称
+     * @param value    修改项的值
+     * @param modifier 对新样式执行的修改
+     * @return 缓存的样式
+     */
+    public synchronized CellStyle derive(CellStyle base, String name, Object value, Consumer<CellStyle> modifier) {
+        Assert.isTrue(base != null && name != null && modifier != null, "参数错误");
+        Workbook wb = getWorkbook();
+        StyleKey key = new StyleKey(base.getIndex(), name, value);
+        Integer index = styles.get(key);
+        if (index != null) {
+            return wb.getCellStyleAt(index);
+        }
+        CellStyle style = wb.createCellStyle();
+        style.cloneStyleFrom(base);
+        modifier.accept(style);
+        styles.put(key, style.getIndex() & 0xFFFF);
+        return style;
+    }
+
+    private Workbook getWorkbook() {
+        Workbook wb = workbook.get();
+        Assert.state(wb != null, "工作簿已被回收");
+        return wb;
+    }
+
+    private record StyleKey(int baseIndex, String name, Object value) {
+
+        private StyleKey(short baseIndex, String name, Object value) {
+            this(baseIndex & 0xFFFF, name, value);
+        }
+    }
+}
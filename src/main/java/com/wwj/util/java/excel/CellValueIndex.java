@@ -0,0 +1,119 @@
+package com.wwj.util.java.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellAddress;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 工作表单元格值的倒排索引，一次遍历工作表后可以反复按值查找单元格，适合在同一个工作表上搜索大量关键字。
+ * 索引的值与{@link ExcelUtil#getCellValue(MergedRegionIndex, int, int)}一致，是构建时工作表的快照
+ *
+ * @author wwj
+ */
+public final class CellValueIndex {
+
+    private final MergedRegionIndex mergedRegionIndex;
+
+    /**
+     * 单元格的值对应的单元格地址，地址按先行后列的顺序排列
+     */
+    private final Map<String, List<CellAddress>> cells = new HashMap<>();
+
+    private CellValueIndex(MergedRegionIndex mergedRegionIndex) {
+        this.mergedRegionIndex = mergedRegionIndex;
+        Sheet sheet = mergedRegionIndex.getSheet();
+        for (int i = 0; i <= sheet.getLastRowNum(); i++) {
+            Row row = sheet.getRow(i);
+            if (row == null) {
+                continue;
+            }
+            for (int y = 0; y <= row.getLastCellNum(); y++) {
+                if (row.getCell(y) == null) {
+                    continue;
+                }
+                String value = ExcelUtil.getCellValue(mergedRegionIndex, i, y);
+                if (value != null && !value.isEmpty()) {
+                    cells.computeIfAbsent(value, k -> new ArrayList<>(1)).add(new CellAddress(i, y));
+                }
+            }
+        }
+    }
+
+    /**
+     * 为工作表构建单元格值索引
+     *
+     * @param sheet 工作表
+     * @return 单元格值索引
+     */
+    public static CellValueIndex of(Sheet sheet) {
+        Assert.notNull(sheet, "sheet不能为空");
+        return new CellValueIndex(MergedRegionIndex.of(sheet));
+    }
+
+    /**
+     * 使用已有的合并单元格索引构建单元格值索引
+     *
+     * @param mergedRegionIndex 合并单元格索引
+     * @return 单元格值索引
+     */
+    public static CellValueIndex of(MergedRegionIndex mergedRegionIndex) {
+        Assert.notNull(mergedRegionIndex, "mergedRegionIndex不能为空");
+        return new CellValueIndex(mergedRegionIndex);
+    }
+
+    public MergedRegionIndex getMergedRegionIndex() {
+        return mergedRegionIndex;
+    }
+
+    /**
+     * 获取值为keyword的所有单元格地址
+     *
+     * @param keyword 关键字
+     * @return 单元格地址，按先行后列的顺序排列
+     */
+    public List<CellAddress> getCells(String keyword) {
+        return Collections.unmodifiableList(cells.getOrDefault(keyword, Collections.emptyList()));
+    }
+
+    /**
+     * 获取首个值为keyword的单元格
+     *
+     * @param keyword 关键字
+     * @return 单元格
+     */
+    @Nullable
+    public Cell getFirstCell(String keyword) {
+        List<CellAddress> addresses = cells.get(keyword);
+        if (addresses == null) {
+            return null;
+        }
+        CellAddress address = addresses.get(0);
+        return mergedRegionIndex.getSheet().getRow(address.getRow()).getCell(address.getColumn());
+    }
+
+    /**
+     * 获取首个值为keyword的单元格附近的值
+     *
+     * @param keyword   关键字
+     * @param direction 方向,1:上、2:右、3:下、4:左
+     * @return 关键字附近的值
+     */
+    @Nullable
+    public String getNearby(String keyword, int direction) {
+        List<CellAddress> addresses = cells.get(keyword);
+        if (addresses == null) {
+            return null;
+        }
+        CellAddress address = addresses.get(0);
+        return ExcelUtil.getNearbyValue(mergedRegionIndex, address.getRow(), address.getColumn(), direction);
+    }
+}
@@ -0,0 +1,21 @@
+package com.wwj.util.java.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * 将指定类型的值写入单元格，通过{@link ExcelUtil#registerCellValueWriter}注册自定义类型的写入方式
+ *
+ * @param <T> 值的类型
+ * @author wwj
+ */
+@FunctionalInterface
+public interface CellValueWriter<T> {
+
+    /**
+     * 将值写入单元格
+     *
+     * @param cell  单元格
+     * @param value 值，不为null
+     */
+    void write(Cell cell, T value);
+}
@@ -0,0 +1,26 @@
+package com.wwj.util.java.excel;
+
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+/**
+ * 流式读取Excel时的一行数据
+ *
+ * @param rowNum 行索引
+ * @param values 单元格格式化后的值，下标为列索引，空单元格为null
+ * @author wwj
+ */
+public record ExcelRow(int rowNum, List<String> values) {
+
+    /**
+     * 获取指定列的值
+     *
+     * @param col 列索引
+     * @return 单元格的值，列不存在时返回null
+     */
+    @Nullable
+    public String get(int col) {
+        return col >= 0 && col < values.size() ? values.get(col) : null;
+    }
+}
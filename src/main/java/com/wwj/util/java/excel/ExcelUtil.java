@@ -1,49 +1,119 @@
 package com.wwj.util.java.excel;
 
+import com.wwj.util.java.ZipUtil;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
 import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Name;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellAddress;
 import org.apache.poi.ss.util.CellRangeAddress;
 import org.apache.poi.ss.util.CellRangeUtil;
+import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.ss.util.CellUtil;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFClientAnchor;
+import org.apache.poi.xssf.usermodel.XSSFComment;
 import org.apache.poi.xssf.usermodel.XSSFDrawing;
 import org.apache.poi.xssf.usermodel.XSSFPicture;
 import org.apache.poi.xssf.usermodel.XSSFPictureData;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
 
+import javax.xml.parsers.ParserConfigurationException;
+
+import java.beans.PropertyDescriptor;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.text.SimpleDateFormat;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * excel工具
@@ -61,12 +131,74 @@ public class ExcelUtil {
 
     public static final int SEARCH_LEFT = 4;
 
-    private static final DataFormatter DATA_FORMATTER = new DataFormatter();
+    /**
+     * 单个工作表除表头外最多可以写入的数据行数
+     */
+    public static final int MAX_ROWS_PER_SHEET = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    /**
+     * DataFormatter内部缓存了解析过的格式，不是线程安全的，每个线程使用各自的实例。
+     * 格式在首次用到时才解析并缓存，虚拟线程每个任务都是新线程，不能在创建时预先解析所有内置格式
+     */
+    private static final ThreadLocal<DataFormatter> DATA_FORMATTER = ThreadLocal.withInitial(DataFormatter::new);
 
     private static final String DEFAULT_FORMAT = "yyyy-MM-dd HH:mm:ss";
 
+    private static final String CSV_LINE_SEPARATOR = "\r\n";
+
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+
+    private static final String XLSX_CONTENT_TYPE = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+
     private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DEFAULT_FORMAT);
 
+    private static final String EXCEL_DATE_TIME_FORMAT = "yyyy-mm-dd hh:mm:ss";
+
+    private static final String EXCEL_DATE_FORMAT = "yyyy-mm-dd";
+
+    private static final Map<Class<?>, CellValueWriter<?>> CELL_VALUE_WRITERS = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, CellValueWriter<Object>> RESOLVED_CELL_VALUE_WRITERS = new ConcurrentHashMap<>();
+
+    private static final DefaultConversionService CONVERSION_SERVICE = new DefaultConversionService();
+
+    private static final ClassValue<List<ColumnProperty>> COLUMN_PROPERTIES = new ClassValue<>() {
+        @Override
+        protected List<ColumnProperty> computeValue(Class<?> type) {
+            return resolveExcelProperty(type);
+        }
+    };
+
+    static {
+        registerCellValueWriter(Number.class, (cell, value) -> cell.setCellValue(value.doubleValue()));
+        // float直接转换为double会产生精度误差，按十进制文本转换
+        registerCellValueWriter(Float.class, (cell, value) -> cell.setCellValue(Double.parseDouble(value.toString())));
+        registerCellValueWriter(Boolean.class, Cell::setCellValue);
+        registerCellValueWriter(String.class, Cell::setCellValue);
+        registerCellValueWriter(Date.class, (cell, value) -> {
+            cell.setCellValue(value);
+            setDateStyle(cell, EXCEL_DATE_TIME_FORMAT);
+        });
+        registerCellValueWriter(LocalDateTime.class, (cell, value) -> {
+            cell.setCellValue(value);
+            setDateStyle(cell, EXCEL_DATE_TIME_FORMAT);
+        });
+        registerCellValueWriter(LocalDate.class, (cell, value) -> {
+            cell.setCellValue(value);
+            setDateStyle(cell, EXCEL_DATE_FORMAT);
+        });
+        registerCellValueWriter(Calendar.class, (cell, value) -> {
+            cell.setCellValue(value);
+            setDateStyle(cell, EXCEL_DATE_TIME_FORMAT);
+        });
+
+        // 读取时按照写入的日期格式解析日期
+        CONVERSION_SERVICE.addConverter(String.class, LocalDateTime.class, text -> LocalDateTime.parse(text, FORMATTER));
+        CONVERSION_SERVICE.addConverter(String.class, LocalDate.class, LocalDate::parse);
+        CONVERSION_SERVICE.addConverter(String.class, Date.class,
+                text -> Date.from(LocalDateTime.parse(text, FORMATTER).atZone(ZoneId.systemDefault()).toInstant()));
+    }
+
     private ExcelUtil() {
     }
 
@@ -82,35 +214,395 @@ public class ExcelUtil {
         Assert.notEmpty(data, "数据不能为空");
         List<ColumnProperty> columnProperty = getExcelProperty(data.get(0).getClass());
         Assert.notEmpty(columnProperty, "没有需要写入的字段");
-
         Workbook workbook = new XSSFWorkbook();
-        Sheet sheet = workbook.createSheet();
+        createSheet(workbook, columnProperty, data.iterator());
+        return writeToTempFile(workbook);
+    }
 
-        // 写入表头
-        Row headerRow = sheet.createRow(0);
-        IntStream.range(0, columnProperty.size()).forEachOrdered(i -> {
-            ColumnProperty property = columnProperty.get(i);
-            Cell cell = headerRow.createCell(i);
-            cell.setCellValue(property.headerName());
-            Integer colWidth = property.getColWidth();
-            if (colWidth != null) {
-                sheet.setColumnWidth(i, colWidth);
+    /**
+     * 以流式的方式创建一个简单的Excel表格，并将表格写入临时文件中，
+     * 内存中只保留{@link SXSSFWorkbook#DEFAULT_WINDOW_SIZE}行数据，超出的行会被刷写到磁盘，适合导出大量数据
+     *
+     * @param data 需要写入的数据
+     * @param <T>  表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *             所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 临时文件路径
+     */
+    public static <T> Path writeToTempFileStreaming(List<T> data) {
+        return writeToTempFileStreaming(data, SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 以流式的方式创建一个简单的Excel表格，并将表格写入临时文件中，
+     * 内存中只保留rowAccessWindowSize行数据，超出的行会被刷写到磁盘，适合导出大量数据
+     *
+     * @param data                需要写入的数据
+     * @param rowAccessWindowSize 内存中保留的行数
+     * @param <T>                 表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                            所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 临时文件路径
+     */
+    public static <T> Path writeToTempFileStreaming(List<T> data, int rowAccessWindowSize) {
+        Assert.notEmpty(data, "数据不能为空");
+        Assert.isTrue(rowAccessWindowSize > 0, "rowAccessWindowSize必须大于0");
+        List<ColumnProperty> columnProperty = getExcelProperty(data.get(0).getClass());
+        Assert.notEmpty(columnProperty, "没有需要写入的字段");
+
+        // 关闭时会删除刷写行数据时产生的临时文件
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(rowAccessWindowSize)) {
+            // 压缩刷写到磁盘的临时文件
+            workbook.setCompressTempFiles(true);
+            createSheet(workbook, columnProperty, data.iterator());
+            return writeToTempFile(workbook);
+        } catch (IOException e) {
+            throw new ExcelException("写入Excel失败", e);
+        }
+    }
+
+    /**
+     * 以流式的方式将迭代器中的数据写入Excel临时文件，数据在迭代时逐行写入，不需要一次性加载到内存中
+     *
+     * @param data 需要写入的数据，如数据库游标的迭代器
+     * @param <T>  表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *             所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 临时文件路径
+     */
+    public static <T> Path writeToTempFileStreaming(Iterator<T> data) {
+        Assert.isTrue(data != null && data.hasNext(), "数据不能为空");
+        Path excelFilePath = createTempFile();
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(excelFilePath))) {
+            writeStreaming(data, os);
+        } catch (IOException e) {
+            deleteQuietly(excelFilePath);
+            throw new ExcelException("写入Excel失败", e);
+        } catch (RuntimeException e) {
+            // 迭代数据或写入失败时删除写了一半的文件
+            deleteQuietly(excelFilePath);
+            throw e;
+        }
+        return excelFilePath;
+    }
+
+    /**
+     * 以流式的方式将迭代器中的数据直接写入输出流，不经过临时文件和字节数组，适合直接写入HTTP响应
+     *
+     * @param data         需要写入的数据，如数据库游标的迭代器
+     * @param outputStream 输出流，写入完成后不会关闭
+     * @param <T>          表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                     所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     */
+    public static <T> void writeStreaming(Iterator<T> data, OutputStream outputStream) {
+        Assert.isTrue(data != null && data.hasNext(), "数据不能为空");
+        Assert.notNull(outputStream, "输出流不能为空");
+        T first = data.next();
+        List<ColumnProperty> columnProperty = getExcelProperty(first.getClass());
+        Assert.notEmpty(columnProperty, "没有需要写入的字段");
+
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(SXSSFWorkbook.DEFAULT_WINDOW_SIZE)) {
+            workbook.setCompressTempFiles(true);
+            // 将取出的首个元素放回迭代的开头
+            Iterator<T> rows = Stream.concat(Stream.of(first), StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(data, Spliterator.ORDERED), false)).iterator();
+            createSheet(workbook, columnProperty, rows);
+            write(workbook, outputStream);
+        } catch (IOException e) {
+            throw new ExcelException("写入Excel失败", e);
+        }
+    }
+
+    /**
+     * 以流式的方式将Stream中的数据写入Excel临时文件，数据在消费时逐行写入，Stream需要由调用方关闭
+     *
+     * @param data 需要写入的数据
+     * @param <T>  表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *             所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 临时文件路径
+     */
+    public static <T> Path writeToTempFileStreaming(Stream<T> data) {
+        Assert.notNull(data, "数据不能为空");
+        return writeToTempFileStreaming(data.iterator());
+    }
+
+    /**
+     * 以分页的方式将数据写入Excel临时文件，每次只加载一页数据，内存占用只与分页大小有关
+     *
+     * @param pageLoader 分页加载器，参数为从0开始的页码，返回null或空列表时表示数据已经加载完
+     * @param <T>        表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                   所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 临时文件路径
+     */
+    public static <T> Path writeToTempFileStreaming(IntFunction<List<T>> pageLoader) {
+        Assert.notNull(pageLoader, "分页加载器不能为空");
+        return writeToTempFileStreaming(new PageIterator<>(pageLoader));
+    }
+
+    /**
+     * 将数据写入CSV临时文件，表头和列与{@link #writeToTempFile(List)}相同，不生成xlsx格式，适合不需要格式的大量数据导出
+     *
+     * @param data 需要写入的数据
+     * @param <T>  表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *             所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 临时文件路径
+     */
+    public static <T> Path writeCsvToTempFile(List<T> data) {
+        Assert.notEmpty(data, "数据不能为空");
+        return writeCsvToTempFile(data.iterator(), ',');
+    }
+
+    /**
+     * 将数据写入CSV或TSV临时文件，表头和列与{@link #writeToTempFile(List)}相同
+     *
+     * @param data      需要写入的数据
+     * @param delimiter 分隔符，CSV为','，TSV为'\t'
+     * @param <T>       表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                  所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 临时文件路径
+     */
+    public static <T> Path writeCsvToTempFile(Iterator<T> data, char delimiter) {
+        Assert.isTrue(data != null && data.hasNext(), "数据不能为空");
+        Path csvFilePath;
+        try {
+            csvFilePath = Files.createTempFile("csv", delimiter == '\t' ? ".tsv" : ".csv");
+        } catch (IOException e) {
+            throw new ExcelException("创建临时文件失败", e);
+        }
+        try (FileChannel channel = FileChannel.open(csvFilePath, StandardOpenOption.WRITE)) {
+            writeCsv(data, delimiter, channel);
+        } catch (IOException e) {
+            deleteQuietly(csvFilePath);
+            throw new ExcelException("写入CSV失败", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(csvFilePath);
+            throw e;
+        }
+        return csvFilePath;
+    }
+
+    /**
+     * 以UTF-8编码将数据逐行写入通道，表头和列与{@link #writeToTempFile(List)}相同
+     *
+     * @param data      需要写入的数据
+     * @param delimiter 分隔符，CSV为','，TSV为'\t'
+     * @param channel   通道，写入完成后不会关闭
+     * @param <T>       表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                  所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     */
+    public static <T> void writeCsv(Iterator<T> data, char delimiter, WritableByteChannel channel) {
+        Assert.isTrue(data != null && data.hasNext(), "数据不能为空");
+        Assert.notNull(channel, "通道不能为空");
+        T first = data.next();
+        Assert.notNull(first, "数据中不能有null元素");
+        List<ColumnProperty> columnProperty = getExcelProperty(first.getClass());
+        Assert.notEmpty(columnProperty, "没有需要写入的字段");
+
+        Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        try {
+            for (int j = 0; j < columnProperty.size(); j++) {
+                writeCsvField(writer, j, delimiter, columnProperty.get(j).headerName());
             }
+            writer.write(CSV_LINE_SEPARATOR);
+            writeCsvRow(writer, delimiter, columnProperty, first);
+            while (data.hasNext()) {
+                T t = data.next();
+                Assert.notNull(t, "数据中不能有null元素");
+                writeCsvRow(writer, delimiter, columnProperty, t);
+            }
+            // 只刷新缓冲区，通道由调用方关闭
+            writer.flush();
+        } catch (IOException e) {
+            throw new ExcelException("写入CSV失败", e);
+        }
+    }
+
+    /**
+     * 将多组数据分别写入同名的工作表中，每个工作表在{@link ForkJoinPool#commonPool()}中并行生成
+     *
+     * @param sheets 工作表名称对应的数据，工作表按Map的迭代顺序排列
+     * @return 临时文件路径
+     * @see #writeToTempFile(Map, Executor)
+     */
+    public static Path writeToTempFile(Map<String, ? extends Collection<?>> sheets) {
+        return writeToTempFile(sheets, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 将多组数据分别写入同名的工作表中，每个工作表在executor中并行生成，
+     * 表头根据对象字段的{@link ExcelProperty}注解生成。
+     * 工作表使用流式的方式写入，每个工作表的行数据独立刷写到各自的临时文件，工作表的创建仍在调用线程中完成
+     *
+     * @param sheets   工作表名称对应的数据，工作表按Map的迭代顺序排列
+     * @param executor 生成工作表的线程池
+     * @return 临时文件路径
+     */
+    public static Path writeToTempFile(Map<String, ? extends Collection<?>> sheets, Executor executor) {
+        Assert.notEmpty(sheets, "数据不能为空");
+        Assert.notNull(executor, "executor不能为空");
+        // 提交任何任务前先校验所有工作表，避免校验失败关闭工作簿时还有任务在写入
+        Map<String, List<ColumnProperty>> columnProperties = new LinkedHashMap<>();
+        sheets.forEach((name, data) -> {
+            Assert.notEmpty(data, "工作表" + name + "的数据不能为空");
+            List<ColumnProperty> columnProperty = getExcelProperty(data.iterator().next().getClass());
+            Assert.notEmpty(columnProperty, "工作表" + name + "没有需要写入的字段");
+            columnProperties.put(name, columnProperty);
         });
 
-        // 写入行数据
-        IntStream.range(0, data.size()).forEachOrdered(i -> {
-            T t = data.get(i);
-            BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(t);
-            Row row = sheet.createRow(i + 1);
-            IntStream.range(0, columnProperty.size()).forEachOrdered(j -> {
-                ColumnProperty cp = columnProperty.get(j);
-                Object value = beanWrapper.getPropertyValue(cp.fieldName());
-                Cell cell = row.createCell(j);
-                setCellValue(cell, value);
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(SXSSFWorkbook.DEFAULT_WINDOW_SIZE)) {
+            workbook.setCompressTempFiles(true);
+            // 预先创建日期样式，避免多个线程同时修改工作簿的样式表
+            CellStyle defaultStyle = workbook.getCellStyleAt(0);
+            CellStylePool.of(workbook).withDataFormat(defaultStyle, EXCEL_DATE_TIME_FORMAT);
+            CellStylePool.of(workbook).withDataFormat(defaultStyle, EXCEL_DATE_FORMAT);
+            // 创建工作表会修改workbook，只能在当前线程中执行，全部创建完成后再提交任务
+            Map<String, Sheet> createdSheets = new LinkedHashMap<>();
+            columnProperties.forEach((name, columnProperty) -> {
+                Sheet sheet = workbook.createSheet(name);
+                writeHeader(sheet, columnProperty);
+                createdSheets.put(name, sheet);
             });
-        });
-        return writeToTempFile(workbook);
+            List<CompletableFuture<Void>> futures = new ArrayList<>(sheets.size());
+            try {
+                createdSheets.forEach((name, sheet) -> futures.add(CompletableFuture.runAsync(
+                        () -> writeRows(sheet, columnProperties.get(name), 1, sheets.get(name).iterator()), executor)));
+                CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            } catch (RuntimeException e) {
+                // 提交失败时等待已提交的任务结束后再关闭工作簿
+                futures.forEach(future -> future.handle((v, ex) -> v).join());
+                Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+                throw cause instanceof RuntimeException re ? re : new ExcelException("生成工作表失败", cause);
+            }
+            return writeToTempFile(workbook);
+        } catch (IOException e) {
+            throw new ExcelException("写入Excel失败", e);
+        }
+    }
+
+    /**
+     * 将大量数据按行数拆分写入多个Excel临时文件，每个工作表最多写入maxRowsPerSheet行数据(不含表头)，
+     * 每个文件最多包含maxSheetsPerFile个工作表，写满后自动写入下一个工作表或文件。
+     * 数据在调用线程中逐行迭代和写入，写满的文件在{@link ForkJoinPool#commonPool()}中压缩写入磁盘，同时继续写入下一个文件
+     *
+     * @param data             需要写入的数据，如数据库游标的迭代器
+     * @param maxRowsPerSheet  每个工作表的最大数据行数，不能超过{@link #MAX_ROWS_PER_SHEET}
+     * @param maxSheetsPerFile 每个文件的最大工作表数
+     * @param <T>              表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                         所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 按数据顺序排列的临时文件路径
+     */
+    public static <T> List<Path> writeToTempFiles(Iterator<T> data, int maxRowsPerSheet, int maxSheetsPerFile) {
+        return writeToTempFiles(data, maxRowsPerSheet, maxSheetsPerFile, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 将大量数据按行数拆分写入多个Excel临时文件，每个工作表最多写入maxRowsPerSheet行数据(不含表头)，
+     * 每个文件最多包含maxSheetsPerFile个工作表，写满后自动写入下一个工作表或文件。
+     * 数据在调用线程中逐行迭代和写入，写满的文件在executor中压缩写入磁盘，同时继续写入下一个文件
+     *
+     * @param data             需要写入的数据，如数据库游标的迭代器
+     * @param maxRowsPerSheet  每个工作表的最大数据行数，不能超过{@link #MAX_ROWS_PER_SHEET}
+     * @param maxSheetsPerFile 每个文件的最大工作表数
+     * @param executor         将写满的文件写入磁盘的线程池
+     * @param <T>              表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                         所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return 按数据顺序排列的临时文件路径
+     */
+    public static <T> List<Path> writeToTempFiles(Iterator<T> data, int maxRowsPerSheet, int maxSheetsPerFile,
+                                                  Executor executor) {
+        Assert.isTrue(data != null && data.hasNext(), "数据不能为空");
+        Assert.isTrue(maxRowsPerSheet > 0 && maxRowsPerSheet <= MAX_ROWS_PER_SHEET,
+                "maxRowsPerSheet必须在1到" + MAX_ROWS_PER_SHEET + "之间");
+        Assert.isTrue(maxSheetsPerFile > 0, "maxSheetsPerFile必须大于0");
+        Assert.notNull(executor, "executor不能为空");
+        T first = data.next();
+        List<ColumnProperty> columnProperty = getExcelProperty(first.getClass());
+        Assert.notEmpty(columnProperty, "没有需要写入的字段");
+        // 将取出的首个元素放回迭代的开头
+        Iterator<T> rows = Stream.concat(Stream.of(first), StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(data, Spliterator.ORDERED), false)).iterator();
+
+        List<CompletableFuture<Path>> futures = new ArrayList<>();
+        try {
+            while (rows.hasNext()) {
+                SXSSFWorkbook workbook = new SXSSFWorkbook(SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+                workbook.setCompressTempFiles(true);
+                try {
+                    for (int i = 0; i < maxSheetsPerFile && rows.hasNext(); i++) {
+                        createSheet(workbook, columnProperty, new LimitedIterator<>(rows, maxRowsPerSheet));
+                    }
+                    futures.add(CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return writeToTempFile(workbook);
+                        } finally {
+                            // 写入后已经关闭，重复关闭没有影响，这里保证写入失败时也删除临时文件
+                            closeQuietly(workbook);
+                        }
+                    }, executor));
+                } catch (RuntimeException e) {
+                    // 写入数据或提交任务失败时工作簿不会再被写入，关闭以删除刷写行数据的临时文件
+                    closeQuietly(workbook);
+                    throw e;
+                }
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
+        } catch (RuntimeException e) {
+            // 等待已提交的文件写完后删除，避免留下不完整的结果，写入失败的文件已经在writeToTempFile中删除
+            futures.forEach(future -> future.handle((path, ex) -> path).join());
+            futures.stream()
+                    .filter(future -> !future.isCompletedExceptionally())
+                    .forEach(future -> deleteQuietly(future.join()));
+            Throwable cause = e instanceof CompletionException ? e.getCause() : e;
+            throw cause instanceof RuntimeException re ? re : new ExcelException("写入Excel失败", cause);
+        }
+    }
+
+    /**
+     * 将大量数据按行数拆分写入多个Excel文件，并打包成一个zip临时文件，zip中的文件按数据顺序命名为1.xlsx、2.xlsx...
+     *
+     * @param data             需要写入的数据，如数据库游标的迭代器
+     * @param maxRowsPerSheet  每个工作表的最大数据行数，不能超过{@link #MAX_ROWS_PER_SHEET}
+     * @param maxSheetsPerFile 每个文件的最大工作表数
+     * @param <T>              表格中的表头根据对象字段的{@link ExcelProperty}注解生成，
+     *                         所有带有{@link ExcelProperty}注解的字段都将写入表格中
+     * @return zip临时文件路径
+     * @see #writeToTempFiles(Iterator, int, int, Executor)
+     */
+    public static <T> Path writeToZip(Iterator<T> data, int maxRowsPerSheet, int maxSheetsPerFile) {
+        List<Path> files = writeToTempFiles(data, maxRowsPerSheet, maxSheetsPerFile);
+        Path dir = null;
+        Path zipFile = null;
+        try {
+            dir = Files.createTempDirectory("excel");
+            Path[] entries = new Path[files.size()];
+            for (int i = 0; i < files.size(); i++) {
+                entries[i] = Files.move(files.get(i), dir.resolve((i + 1) + ".xlsx"));
+            }
+            zipFile = Files.createTempFile("excel", ".zip");
+            ZipUtil.pack(zipFile, entries);
+            return zipFile;
+        } catch (IOException e) {
+            deleteQuietly(zipFile);
+            throw new ExcelException("打包Excel文件失败", e);
+        } catch (RuntimeException e) {
+            deleteQuietly(zipFile);
+            throw e;
+        } finally {
+            files.forEach(ExcelUtil::deleteQuietly);
+            deleteQuietly(dir);
+        }
+    }
+
+    /**
+     * 注册类型的单元格写入方式，写入值时依次匹配值的类型本身、父类和接口，已注册的类型会被覆盖
+     *
+     * @param type   值的类型
+     * @param writer 写入方式
+     * @param <T>    值的类型
+     */
+    public static <T> void registerCellValueWriter(Class<T> type, CellValueWriter<? super T> writer) {
+        Assert.notNull(type, "type不能为空");
+        Assert.notNull(writer, "writer不能为空");
+        CELL_VALUE_WRITERS.put(type, writer);
+        RESOLVED_CELL_VALUE_WRITERS.clear();
     }
 
     /**
@@ -120,18 +612,71 @@ public class ExcelUtil {
      * @return 临时文件目录
      */
     public static Path writeToTempFile(Workbook workbook) {
-        Path excelFilePath;
-        try {
-            excelFilePath = Files.createTempFile("excel", ".xlsx");
+        Path excelFilePath = createTempFile();
+        try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(excelFilePath))) {
+            write(workbook, os);
         } catch (IOException e) {
-            throw new ExcelException("创建临时文件失败", e);
+            deleteQuietly(excelFilePath);
+            throw new ExcelException("写入Excel失败", e);
+        } catch (RuntimeException e) {
+            // 写入失败时删除写了一半的文件，调用方拿不到路径无法自行删除
+            deleteQuietly(excelFilePath);
+            throw e;
         }
-        try (workbook; FileOutputStream os = new FileOutputStream(excelFilePath.toFile())) {
-            workbook.write(os);
+        return excelFilePath;
+    }
+
+    /**
+     * 将Workbook直接写入输出流，并关闭Workbook
+     *
+     * @param workbook     表格
+     * @param outputStream 输出流，写入完成后不会关闭
+     */
+    public static void write(Workbook workbook, OutputStream outputStream) {
+        Assert.notNull(outputStream, "输出流不能为空");
+        try (workbook) {
+            workbook.write(outputStream);
         } catch (IOException e) {
             throw new ExcelException("写入Excel失败", e);
         }
-        return excelFilePath;
+    }
+
+    /**
+     * 将Workbook直接写入通道，并关闭Workbook
+     *
+     * @param workbook 表格
+     * @param channel  通道，写入完成后不会关闭
+     */
+    public static void write(Workbook workbook, WritableByteChannel channel) {
+        Assert.notNull(channel, "通道不能为空");
+        BufferedOutputStream os = new BufferedOutputStream(Channels.newOutputStream(channel));
+        write(workbook, os);
+        try {
+            // 只刷新缓冲区，通道由调用方关闭
+            os.flush();
+        } catch (IOException e) {
+            throw new ExcelException("写入Excel失败", e);
+        }
+    }
+
+    /**
+     * 将Workbook作为附件直接写入HTTP响应，不经过临时文件和字节数组，并关闭Workbook
+     *
+     * @param workbook 表格
+     * @param response HTTP响应
+     * @param filename 下载的文件名
+     */
+    public static void write(Workbook workbook, HttpServletResponse response, String filename) {
+        Assert.notNull(response, "response不能为空");
+        response.setContentType(XLSX_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString());
+        try {
+            write(workbook, response.getOutputStream());
+            response.flushBuffer();
+        } catch (IOException e) {
+            throw new ExcelException("写入HTTP响应失败", e);
+        }
     }
 
     /**
@@ -194,20 +739,98 @@ public class ExcelUtil {
         if (insertNumber <= 0) {
             return;
         }
-        // 插入位置的行，如果插入的行不存在则创建新行
-        Row sourceRow = Optional.ofNullable(sheet.getRow(startRow)).orElseGet(() -> sheet.createRow(insertNumber));
-        // 从插入行开始到最后一行向下移动
-        sheet.shiftRows(startRow, sheet.getLastRowNum(), insertNumber, true, false);
+        insertRows(sheet, Map.of(startRow, insertNumber));
+    }
+
+    /**
+     * 批量插入行，先规划所有插入位置，每段行只向下移动一次，避免循环调用{@link #insertRow}时反复移动到最后一行。
+     * 插入的空行复制插入位置原有行的样式和行高
+     *
+     * @param sheet      工作表
+     * @param insertions key为插入的起始行(插入前的行索引)，value为插入的行数
+     * @return key为插入的起始行(插入前的行索引)，value为插入的空行在插入后所在的起始行
+     */
+    public static Map<Integer, Integer> insertRows(Sheet sheet, Map<Integer, Integer> insertions) {
+        Assert.notNull(sheet, "sheet不能为空");
+        TreeMap<Integer, Integer> plan = new TreeMap<>();
+        insertions.forEach((startRow, insertNumber) -> {
+            Assert.isTrue(startRow >= 0, "插入的起始行不能小于0");
+            if (insertNumber > 0) {
+                plan.put(startRow, insertNumber);
+            }
+        });
+        Map<Integer, Integer> result = new LinkedHashMap<>();
+        if (plan.isEmpty()) {
+            return result;
+        }
+
+        // 移动前读取插入位置的行，如果插入的行不存在则创建新行
+        Map<Integer, Row> sourceRows = new HashMap<>();
+        plan.keySet().forEach(startRow ->
+                sourceRows.put(startRow, Optional.ofNullable(sheet.getRow(startRow)).orElseGet(() -> sheet.createRow(startRow))));
+        Map<Integer, CellStyle[]> sourceStyles = new HashMap<>();
+        Map<Integer, Float> sourceHeights = new HashMap<>();
+        sourceRows.forEach((startRow, row) -> {
+            sourceStyles.put(startRow, getRowStyles(row));
+            sourceHeights.put(startRow, row.getHeightInPoints());
+        });
+
+        // 计算每个插入位置累计的偏移量
+        int[] starts = plan.keySet().stream().mapToInt(Integer::intValue).toArray();
+        int[] offsets = new int[starts.length];
+        int offset = 0;
+        for (int i = 0; i < starts.length; i++) {
+            offset += plan.get(starts[i]);
+            offsets[i] = offset;
+        }
+
+        // 从下往上移动，每段行只移动一次
+        int lastRow = sheet.getLastRowNum();
+        for (int i = starts.length - 1; i >= 0; i--) {
+            int segmentEnd = i == starts.length - 1 ? lastRow : Math.min(starts[i + 1] - 1, lastRow);
+            if (starts[i] <= segmentEnd) {
+                sheet.shiftRows(starts[i], segmentEnd, offsets[i], true, false);
+            }
+        }
 
         // 填充移动后留下的空行
-        IntStream.range(startRow, startRow + insertNumber).forEachOrdered(i -> {
-            Row row = sheet.createRow(i);
-            row.setHeightInPoints(sourceRow.getHeightInPoints());
-            short lastCellNum = sourceRow.getLastCellNum();
-            IntStream.range(0, lastCellNum).forEachOrdered(j -> {
-                Cell cell = row.createCell(j);
-                cell.setCellStyle(sourceRow.getCell(j).getCellStyle());
-            });
+        for (int i = 0; i < starts.length; i++) {
+            int blockStart = starts[i] + (i == 0 ? 0 : offsets[i - 1]);
+            CellStyle[] styles = sourceStyles.get(starts[i]);
+            float height = sourceHeights.get(starts[i]);
+            for (int r = blockStart; r < starts[i] + offsets[i]; r++) {
+                Row row = sheet.createRow(r);
+                row.setHeightInPoints(height);
+                for (int j = 0; j < styles.length; j++) {
+                    Cell cell = row.createCell(j);
+                    if (styles[j] != null) {
+                        cell.setCellStyle(styles[j]);
+                    }
+                }
+            }
+            result.put(starts[i], blockStart);
+        }
+        return result;
+    }
+
+    /**
+     * 批量插入行并填充数据，所有插入位置的行只移动一次，插入的行复制插入位置原有行的样式和行高
+     *
+     * @param sheet  工作表
+     * @param blocks key为插入的起始行(插入前的行索引)，value为需要插入的多行数据，每行数据从第0列开始写入
+     */
+    public static void insertAndFillRows(Sheet sheet, Map<Integer, ? extends List<? extends List<?>>> blocks) {
+        Map<Integer, Integer> insertions = new HashMap<>();
+        blocks.forEach((startRow, rows) -> insertions.put(startRow, rows.size()));
+        insertRows(sheet, insertions).forEach((startRow, blockStart) -> {
+            List<? extends List<?>> rows = blocks.get(startRow);
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = CellUtil.getRow(blockStart + i, sheet);
+                List<?> values = rows.get(i);
+                for (int j = 0; j < values.size(); j++) {
+                    setCellValue(CellUtil.getCell(row, j), values.get(j));
+                }
+            }
         });
     }
 
@@ -225,70 +848,82 @@ public class ExcelUtil {
 
     /**
      * 当{@code sameCols}列的的值完全相同，并且都属于同一个{@code mergedCol}列时，执行{@code accumulators}的合并逻辑，
-     * 合并的修改直接在原工作簿上操作
+     * 合并的修改直接在原工作簿上操作，被合并的行会从工作表中删除，后面的行依次上移
      *
      * @param sheet        工作簿
-     * @param startRow     开始行
+     * @param startRow     开始行，只处理从该行开始的合并单元格
      * @param mergedCol    合并单元格的列
      * @param sameCols     相同值的列
      * @param accumulators 合并的累加器，Map<'操作的列', BiConsumer<'累计值的单元格', '当前值'>>
      */
     public static void mergedRegionReduce(Sheet sheet, int startRow, int mergedCol, List<Integer> sameCols,
                                           Map<Integer, BiConsumer<Cell, Cell>> accumulators) {
-        sheet.getMergedRegions().stream()
+        mergedRegionReduce(sheet, startRow, mergedCol, sameCols, accumulators, false);
+    }
+
+    /**
+     * 当{@code sameCols}列的的值完全相同，并且都属于同一个{@code mergedCol}列时，执行{@code accumulators}的合并逻辑，
+     * 合并的修改直接在原工作簿上操作，被合并的行会从工作表中删除，后面的行依次上移。
+     * 并行执行时只有读取单元格值的分组在多个线程中进行，POI的工作簿不是线程安全的，
+     * 累加器始终在调用线程中按合并单元格的顺序执行，可以写入任意类型的值
+     *
+     * @param sheet        工作簿
+     * @param startRow     开始行，只处理从该行开始的合并单元格
+     * @param mergedCol    合并单元格的列
+     * @param sameCols     相同值的列
+     * @param accumulators 合并的累加器，Map<'操作的列', BiConsumer<'累计值的单元格', '当前值'>>
+     * @param parallel     是否并行处理多个合并单元格
+     */
+    public static void mergedRegionReduce(Sheet sheet, int startRow, int mergedCol, List<Integer> sameCols,
+                                          Map<Integer, BiConsumer<Cell, Cell>> accumulators, boolean parallel) {
+        Assert.notNull(sheet, "sheet不能为空");
+        MergedRegionIndex index = MergedRegionIndex.of(sheet);
+        int[] cols = sameCols.stream().mapToInt(Integer::intValue).toArray();
+        List<CellRangeAddress> regions = sheet.getMergedRegions().stream()
                 // 找出第mergedCol列的合并单元格
-                .filter(mr -> Objects.equals(mr.getFirstColumn(), mergedCol))
+                .filter(mr -> mr.getFirstColumn() == mergedCol && mr.getFirstRow() >= startRow)
                 // 过滤出有多行的的合并单元格
                 .filter(mr -> mr.getFirstRow() < mr.getLastRow())
-                .forEach(mr -> IntStream.rangeClosed(mr.getFirstRow(), mr.getLastRow())
-                        .mapToObj(sheet::getRow)
-                        .filter(Objects::nonNull)
-                        // 将sameCols单元格值拼接后进行分组
-                        .collect(Collectors.groupingBy(
-                                row -> sameCols.stream()
-                                        .map(row::getCell)
-                                        .map(ExcelUtil::getCellValue)
-                                        .filter(Objects::nonNull)
-                                        // 用"-"来拼接多个单元格的值，识别多个单元格的组合是否相同
-                                        .collect(Collectors.joining("-"))))
-                        .values()
-                        .stream()
-                        // 取出符合合并条件的行
-                        .filter(list -> list.size() > 1)
-                        .forEach(rows -> {
-                            Row firstRow = rows.remove(0);
-                            rows.forEach(row -> {
-                                accumulators.forEach((accumulatorCol, accumulator) ->
-                                        accumulator.accept(CellUtil.getCell(firstRow, accumulatorCol),
-                                                CellUtil.getCell(row, accumulatorCol)));
-                                // FIXME 执行完合并以后删除行，但是这里删除只是删除行的内容，生成后的表格需要手动删除
-                                sheet.removeRow(row);
-                            });
-                        }));
+                .collect(Collectors.toList());
+        Stream<CellRangeAddress> stream = parallel ? regions.parallelStream() : regions.stream();
+        List<MergedRow> mergedRows = stream
+                .flatMap(mr -> groupMergedRegion(index, mr, cols).stream())
+                .collect(Collectors.toList());
+        // 累加器会修改工作簿，创建单元格和写入字符串都不是线程安全的，只在当前线程中执行
+        for (MergedRow mergedRow : mergedRows) {
+            accumulators.forEach((accumulatorCol, accumulator) -> accumulator.accept(
+                    CellUtil.getCell(mergedRow.target(), accumulatorCol), CellUtil.getCell(mergedRow.source(), accumulatorCol)));
+        }
+        int[] removedRows = mergedRows.stream()
+                .mapToInt(mergedRow -> mergedRow.source().getRowNum())
+                .sorted()
+                .distinct()
+                .toArray();
+        removeRows(sheet, removedRows);
     }
 
     /**
-     * 设置单元格四周的边框
+     * 设置单元格四周的边框，相同的样式组合会复用工作簿中已创建的样式
      *
      * @param cell        单元格
      * @param borderStyle 边框样式
+     * @see CellStylePool
      */
     public static void setCellBorder(Cell cell, BorderStyle borderStyle) {
-        CellStyle cellStyle = cell.getCellStyle();
-        cellStyle.setBorderTop(borderStyle);
-        cellStyle.setBorderRight(borderStyle);
-        cellStyle.setBorderBottom(borderStyle);
-        cellStyle.setBorderLeft(borderStyle);
+        CellStylePool pool = CellStylePool.of(cell.getSheet().getWorkbook());
+        cell.setCellStyle(pool.withBorder(cell.getCellStyle(), borderStyle));
     }
 
     /**
-     * 设置单元格的背景色
+     * 设置单元格的背景色，相同的样式组合会复用工作簿中已创建的样式
      *
      * @param cell  单元格
      * @param color 背景色
+     * @see CellStylePool
      */
     public static void setCellBackgroundColor(Cell cell, IndexedColors color) {
-        CellUtil.setCellStyleProperty(cell, CellUtil.FILL_FOREGROUND_COLOR, color.getIndex());
+        CellStylePool pool = CellStylePool.of(cell.getSheet().getWorkbook());
+        cell.setCellStyle(pool.withFillForegroundColor(cell.getCellStyle(), color.getIndex()));
     }
 
     /**
@@ -299,44 +934,71 @@ public class ExcelUtil {
      * @param targetOriginCell 粘贴处的起点单元格（左上角）
      */
     public static void copyCellRange(Sheet sourceSheet, CellRangeAddress sourceAddress, Cell targetOriginCell) {
-        Sheet targetSheet = targetOriginCell.getSheet();
-        int targetRowIdx = targetOriginCell.getRowIndex();
-
-        for (int i = sourceAddress.getFirstRow(); i <= sourceAddress.getLastRow(); i++, targetRowIdx++) {
-            Row sourceRow = CellUtil.getRow(i, sourceSheet);
-            Row targetRow = CellUtil.getRow(targetRowIdx, targetSheet);
+        copyCellRange(sourceSheet, sourceAddress, targetOriginCell, new HashMap<>());
+    }
 
-            for (int j = sourceAddress.getFirstColumn(), targetColumn = targetOriginCell.getColumnIndex();
-                 j <= sourceAddress.getLastColumn(); j++, targetColumn++) {
-                Cell sourceCell = CellUtil.getCell(sourceRow, j);
-                Cell targetCell = CellUtil.getCell(targetRow, targetColumn);
+    /**
+     * 将选中的单元格复制到指定的位置，源工作表和目标工作表可以属于不同的工作簿。
+     * 跨工作簿复制时源样式只会在目标工作簿中创建一次，多次复制同一个模板时传入同一个styleMapping可以复用已创建的样式
+     *
+     * @param sourceSheet      源工作表
+     * @param sourceAddress    复制的单元格范围
+     * @param targetOriginCell 粘贴处的起点单元格（左上角）
+     * @param styleMapping     源样式索引对应的目标工作簿样式，复制过程中会向其中添加新的映射
+     */
+    public static void copyCellRange(Sheet sourceSheet, CellRangeAddress sourceAddress, Cell targetOriginCell,
+                                     Map<Integer, CellStyle> styleMapping) {
+        Sheet targetSheet = targetOriginCell.getSheet();
+        Workbook targetWorkbook = targetSheet.getWorkbook();
+        boolean sameWorkbook = sourceSheet.getWorkbook() == targetWorkbook;
+        int firstColumn = sourceAddress.getFirstColumn();
+        int lastColumn = sourceAddress.getLastColumn();
+        int targetFirstColumn = targetOriginCell.getColumnIndex();
+        int targetRowIdx = targetOriginCell.getRowIndex();
+
+        for (int i = sourceAddress.getFirstRow(); i <= sourceAddress.getLastRow(); i++, targetRowIdx++) {
+            Row sourceRow = sourceSheet.getRow(i);
+            Row targetRow = CellUtil.getRow(targetRowIdx, targetSheet);
+            for (int j = firstColumn, targetColumn = targetFirstColumn; j <= lastColumn; j++, targetColumn++) {
+                Cell sourceCell = sourceRow != null ? sourceRow.getCell(j) : null;
+                Cell targetCell = CellUtil.getCell(targetRow, targetColumn);
+                if (sourceCell == null) {
+                    targetCell.setBlank();
+                    targetCell.setCellStyle(targetWorkbook.getCellStyleAt(0));
+                    continue;
+                }
                 // 复制单元格值
                 copyCellValue(sourceCell, targetCell);
                 // 复制样式
-                targetCell.setCellStyle(sourceCell.getCellStyle());
-                // 设置列宽
-                targetSheet.setColumnWidth(targetColumn, sourceSheet.getColumnWidth(j));
+                CellStyle sourceStyle = sourceCell.getCellStyle();
+                targetCell.setCellStyle(sameWorkbook ? sourceStyle : styleMapping.computeIfAbsent(
+                        sourceStyle.getIndex() & 0xFFFF, k -> {
+                            CellStyle targetStyle = targetWorkbook.createCellStyle();
+                            targetStyle.cloneStyleFrom(sourceStyle);
+                            return targetStyle;
+                        }));
             }
             // 设置行高
-            targetRow.setHeight(sourceRow.getHeight());
+            if (sourceRow != null) {
+                targetRow.setHeight(sourceRow.getHeight());
+            }
+        }
+        // 设置列宽
+        for (int j = firstColumn, targetColumn = targetFirstColumn; j <= lastColumn; j++, targetColumn++) {
+            targetSheet.setColumnWidth(targetColumn, sourceSheet.getColumnWidth(j));
         }
 
         // 计算偏移量
-        int offsetX = targetOriginCell.getColumnIndex() - sourceAddress.getFirstColumn();
+        int offsetX = targetFirstColumn - firstColumn;
         int offsetY = targetOriginCell.getRowIndex() - sourceAddress.getFirstRow();
         sourceSheet.getMergedRegions()
                 .stream()
                 // 查找要复制区域中包含的合并单元格
                 .filter(address -> CellRangeUtil.contains(sourceAddress, address))
-                // 设置偏移量
-                .peek(address -> {
-                    address.setFirstRow(address.getFirstRow() + offsetY);
-                    address.setFirstColumn(address.getFirstColumn() + offsetX);
-                    address.setLastRow(address.getLastRow() + offsetY);
-                    address.setLastColumn(address.getLastColumn() + offsetX);
-                })
-                // 将合并的单元格复制过来
-                .forEach(targetSheet::addMergedRegion);
+                // 将合并的单元格按偏移量复制过来，最后统一验证
+                .forEach(address -> targetSheet.addMergedRegionUnsafe(new CellRangeAddress(
+                        address.getFirstRow() + offsetY, address.getLastRow() + offsetY,
+                        address.getFirstColumn() + offsetX, address.getLastColumn() + offsetX)));
         // 验证合并单元格
         targetSheet.validateMergedRegions();
     }
@@ -372,14 +1034,13 @@ public class ExcelUtil {
      */
     public static void cleanData(Sheet sheet, int startRow, int endRow) {
         Assert.isTrue(endRow >= startRow, "结束行必须大于等于开始行");
-        IntStream.rangeClosed(startRow, endRow)
-                .mapToObj(sheet::getRow)
-                .filter(Objects::nonNull)
-                .forEachOrdered(row ->
-                        IntStream.rangeClosed(0, row.getLastCellNum())
-                                .mapToObj(row::getCell)
-                                .filter(Objects::nonNull)
-                                .forEachOrdered(Cell::setBlank));
+        for (int i = startRow; i <= endRow; i++) {
+            Row row = sheet.getRow(i);
+            if (row != null) {
+                // 只遍历已存在的单元格
+                row.forEach(Cell::setBlank);
+            }
+        }
     }
 
     /**
@@ -393,14 +1054,18 @@ public class ExcelUtil {
      */
     public static void cleanData(Sheet sheet, int firstRow, int firstCol, int lastRow, int lastCol) {
         Assert.isTrue(lastRow >= firstRow && lastCol >= firstCol, "参数不正确");
-        IntStream.rangeClosed(firstRow, lastRow)
-                .mapToObj(sheet::getRow)
-                .filter(Objects::nonNull)
-                .forEachOrdered(row ->
-                        IntStream.rangeClosed(firstCol, lastCol)
-                                .mapToObj(row::getCell)
-                                .filter(Objects::nonNull)
-                                .forEachOrdered(Cell::setBlank));
+        for (int i = firstRow; i <= lastRow; i++) {
+            Row row = sheet.getRow(i);
+            if (row == null) {
+                continue;
+            }
+            for (int j = firstCol; j <= lastCol; j++) {
+                Cell cell = row.getCell(j);
+                if (cell != null) {
+                    cell.setBlank();
+                }
+            }
+        }
     }
 
     /**
@@ -497,6 +1162,20 @@ public class ExcelUtil {
                 .orElse(null);
     }
 
+    /**
+     * 通过合并单元格索引获取合并单元格的范围地址，如果不是合并单元格返回null
+     *
+     * @param index 合并单元格索引
+     * @param row   行索引
+     * @param col   列索引
+     * @return 合并单元格的范围
+     */
+    @Nullable
+    public static CellRangeAddress getMergedCell(MergedRegionIndex index, int row, int col) {
+        Assert.isTrue(index != null && row >= 0 && col >= 0, "参数错误");
+        return index.find(row, col);
+    }
+
     /**
      * 测试指定单元格是否是所属合并单元格的左上角单元格
      *
@@ -512,6 +1191,19 @@ public class ExcelUtil {
                 .orElse(false);
     }
 
+    /**
+     * 通过合并单元格索引测试指定单元格是否是所属合并单元格的左上角单元格
+     *
+     * @param index 合并单元格索引
+     * @param row   行索引
+     * @param col   列索引
+     * @return 如果是所在合并单元格的左上角单元格时返回true，否则返回false
+     */
+    public static boolean testMergedFirstCell(MergedRegionIndex index, int row, int col) {
+        Assert.isTrue(index != null && row >= 0 && col >= 0, "参数错误");
+        return index.isFirstCell(row, col);
+    }
+
     /**
      * 拆分cell所在的合并单元格
      *
@@ -562,21 +1254,55 @@ public class ExcelUtil {
                     .filter(cra -> cra.isInRange(row, col))
                     .findFirst()
                     .map(cra -> sheet.getRow(cra.getFirstRow()).getCell(cra.getFirstColumn()))
-                    .map(DATA_FORMATTER::formatCellValue)
+                    .map(firstCell -> dataFormatter().formatCellValue(firstCell))
                     .orElse(null);
         }
-        String value = DATA_FORMATTER.formatCellValue(cell);
+        String value = dataFormatter().formatCellValue(cell);
         // Microsoft Office 的合并单元格值为""
         if (Objects.equals(value, "")) {
             for (CellRangeAddress cra : craList) {
                 if (cra.isInRange(cell)) {
-                    value = DATA_FORMATTER.formatCellValue(sheet.getRow(cra.getFirstRow()).getCell(cra.getFirstColumn()));
+                    value = dataFormatter().formatCellValue(sheet.getRow(cra.getFirstRow()).getCell(cra.getFirstColumn()));
                 }
             }
         }
         return value != null ? value.trim() : null;
     }
 
+    /**
+     * 通过合并单元格索引获取单元格的值，包括合并单元格的，适合在同一个工作表上大量读取单元格
+     *
+     * @param index 合并单元格索引
+     * @param row   行索引
+     * @param col   列索引
+     * @return 单元格的值
+     */
+    @Nullable
+    public static String getCellValue(MergedRegionIndex index, int row, int col) {
+        Assert.isTrue(index != null && row >= 0 && col >= 0, "参数错误");
+        Sheet sheet = index.getSheet();
+        if (sheet.getRow(row) == null) {
+            return null;
+        }
+        Cell cell = sheet.getRow(row).getCell(col);
+        // WPS的合并单元格只有左上角的单元格有值
+        if (cell == null) {
+            return Optional.ofNullable(index.find(row, col))
+                    .map(cra -> sheet.getRow(cra.getFirstRow()).getCell(cra.getFirstColumn()))
+                    .map(firstCell -> dataFormatter().formatCellValue(firstCell))
+                    .orElse(null);
+        }
+        String value = dataFormatter().formatCellValue(cell);
+        // Microsoft Office 的合并单元格值为""
+        if (Objects.equals(value, "")) {
+            CellRangeAddress cra = index.find(row, col);
+            if (cra != null) {
+                value = dataFormatter().formatCellValue(sheet.getRow(cra.getFirstRow()).getCell(cra.getFirstColumn()));
+            }
+        }
+        return value != null ? value.trim() : null;
+    }
+
     /**
      * 以图片左上角的单元格为基准获取图片
      *
@@ -586,15 +1312,9 @@ public class ExcelUtil {
      * @return 图片保存的临时路径
      */
     public static List<Path> getCellPicture(XSSFSheet sheet, int row, int col) {
-        XSSFDrawing drawing = sheet.getDrawingPatriarch();
-        if (drawing == null) {
-            return new ArrayList<>();
-        }
-        return drawing.getShapes().stream()
-                .filter(XSSFPicture.class::isInstance)
-                .map(XSSFPicture.class::cast)
+        return getPictures(sheet)
                 .filter(picture -> {
-                    XSSFClientAnchor anchor = (XSSFClientAnchor) picture.getAnchor();
+                    XSSFClientAnchor anchor = picture.getClientAnchor();
                     // 以左上角单元格为基准
                     return anchor.getRow1() == row && anchor.getCol1() == col;
                 })
@@ -613,7 +1333,35 @@ public class ExcelUtil {
     }
 
     /**
-     * 插入求和公式
+     * 一次遍历工作表中的所有图片，以图片左上角的单元格为基准建立索引。
+     * 图片数据在调用{@link XSSFPictureData#getData()}时才读取，不会写入临时文件
+     *
+     * @param sheet 工作簿
+     * @return 图片左上角单元格对应的图片，按图片在工作表中的顺序排列
+     */
+    public static Map<CellAddress, List<XSSFPictureData>> getCellPictures(XSSFSheet sheet) {
+        Map<CellAddress, List<XSSFPictureData>> pictures = new LinkedHashMap<>();
+        forEachCellPicture(sheet, (address, pictureData) ->
+                pictures.computeIfAbsent(address, k -> new ArrayList<>(1)).add(pictureData));
+        return pictures;
+    }
+
+    /**
+     * 一次遍历工作表中的所有图片，将图片左上角的单元格和图片数据交给调用方处理
+     *
+     * @param sheet 工作簿
+     * @param sink  图片的处理，参数为图片左上角的单元格和图片数据
+     */
+    public static void forEachCellPicture(XSSFSheet sheet, BiConsumer<CellAddress, XSSFPictureData> sink) {
+        Assert.notNull(sink, "sink不能为空");
+        getPictures(sheet).forEachOrdered(picture -> {
+            XSSFClientAnchor anchor = picture.getClientAnchor();
+            sink.accept(new CellAddress(anchor.getRow1(), anchor.getCol1()), picture.getPictureData());
+        });
+    }
+
+    /**
+     * 插入求和公式，插入后重新计算整个工作簿的公式。批量插入公式时使用{@link #setSumFormula}和{@link #evaluateFormulaCells}
      *
      * @param sheet       工作表
      * @param formulaRow  公式单元格所在行索引
@@ -622,14 +1370,42 @@ public class ExcelUtil {
      * @param sumEndRow   求和的结束行
      */
     public static void insertSumFormula(Sheet sheet, int formulaRow, int formulaCol, int sumStartRow, int sumEndRow) {
-        // 修改公式
+        setSumFormula(sheet, formulaRow, formulaCol, sumStartRow, sumEndRow);
+        // 插入公式以后让公式生效
+        sheet.getWorkbook().getCreationHelper().createFormulaEvaluator().evaluateAll();
+    }
+
+    /**
+     * 设置求和公式但不计算，插入完所有公式后调用{@link #evaluateFormulaCells}统一计算
+     *
+     * @param sheet       工作表
+     * @param formulaRow  公式单元格所在行索引
+     * @param formulaCol  公式单元格所在列索引
+     * @param sumStartRow 求和的开始行
+     * @param sumEndRow   求和的结束行
+     * @return 公式单元格
+     */
+    public static Cell setSumFormula(Sheet sheet, int formulaRow, int formulaCol, int sumStartRow, int sumEndRow) {
         Cell sumCell = CellUtil.getCell(CellUtil.getRow(formulaRow, sheet), formulaCol);
         String startAddress = sheet.getRow(sumStartRow).getCell(formulaCol).getAddress().toString();
         String endAddress = sheet.getRow(sumEndRow).getCell(formulaCol).getAddress().toString();
         String cellFormula = "SUM(" + startAddress + ":" + endAddress + ")";
         sumCell.setCellFormula(cellFormula);
-        // 插入公式以后让公式生效
-        sheet.getWorkbook().getCreationHelper().createFormulaEvaluator().evaluateAll();
+        return sumCell;
+    }
+
+    /**
+     * 使用同一个公式计算器计算指定的公式单元格，只计算这些单元格及其依赖，不会重新计算整个工作簿
+     *
+     * @param formulaCells 公式单元格，必须属于同一个工作簿
+     */
+    public static void evaluateFormulaCells(Collection<Cell> formulaCells) {
+        if (CollectionUtils.isEmpty(formulaCells)) {
+            return;
+        }
+        Workbook workbook = formulaCells.iterator().next().getSheet().getWorkbook();
+        FormulaEvaluator evaluator = workbook.getCreationHelper().createFormulaEvaluator();
+        formulaCells.forEach(evaluator::evaluateFormulaCell);
     }
 
     /**
@@ -645,20 +1421,29 @@ public class ExcelUtil {
         if (sheet == null || !StringUtils.hasText(keyword)) {
             return null;
         }
+        return searchNearby(MergedRegionIndex.of(sheet), keyword, direction);
+    }
+
+    /**
+     * 通过合并单元格索引从左上角开始搜索首个关键字附近的值
+     *
+     * @param index     合并单元格索引
+     * @param keyword   关键字
+     * @param direction 方向,1:上、2:右、3:下、4:左
+     * @return 关键字附近的值
+     */
+    @Nullable
+    public static String searchNearby(MergedRegionIndex index, String keyword, int direction) {
+        if (index == null || !StringUtils.hasText(keyword)) {
+            return null;
+        }
+        Sheet sheet = index.getSheet();
         for (int i = 0; i <= sheet.getLastRowNum(); i++) {
             Row row = sheet.getRow(i);
             if (row != null) {
                 for (int y = 0; y <= row.getLastCellNum(); y++) {
-                    if (Objects.equals(keyword, getCellValue(sheet, i, y))) {
-                        if (direction == SEARCH_UP) {
-                            return getCellValue(sheet, i - 1, y);
-                        } else if (direction == SEARCH_RIGHT) {
-                            return getCellValue(sheet, i, y + 1);
-                        } else if (direction == SEARCH_DOWN) {
-                            return getCellValue(sheet, i + 1, y);
-                        } else if (direction == SEARCH_LEFT) {
-                            return getCellValue(sheet, i, y - 1);
-                        }
+                    if (Objects.equals(keyword, getCellValue(index, i, y))) {
+                        return getNearbyValue(index, i, y, direction);
                     }
                 }
             }
@@ -678,12 +1463,28 @@ public class ExcelUtil {
         if (sheet == null || !StringUtils.hasText(keyword)) {
             return null;
         }
+        return searchCell(MergedRegionIndex.of(sheet), keyword);
+    }
+
+    /**
+     * 通过合并单元格索引搜索首个关键字的单元格
+     *
+     * @param index   合并单元格索引
+     * @param keyword 关键字
+     * @return 单元格
+     */
+    @Nullable
+    public static Cell searchCell(MergedRegionIndex index, String keyword) {
+        if (index == null || !StringUtils.hasText(keyword)) {
+            return null;
+        }
+        Sheet sheet = index.getSheet();
         for (int i = 0; i <= sheet.getLastRowNum(); i++) {
             Row row = sheet.getRow(i);
             if (row != null) {
                 for (int y = 0; y <= row.getLastCellNum(); y++) {
                     Cell cell = row.getCell(y);
-                    if (Objects.equals(keyword, getCellValue(cell))) {
+                    if (cell != null && Objects.equals(keyword, getCellValue(index, i, y))) {
                         return cell;
                     }
                 }
@@ -693,7 +1494,68 @@ public class ExcelUtil {
     }
 
     /**
-     * 将Workbook转换成byte[]，并关闭流
+     * 一次遍历工作表，从左上角开始搜索每个关键字首次出现的单元格附近的值
+     *
+     * @param sheet     工作表
+     * @param keywords  关键字
+     * @param direction 方向,1:上、2:右、3:下、4:左
+     * @return 关键字对应的附近的值，没有搜索到的关键字不包含在结果中
+     */
+    public static Map<String, String> searchNearby(Sheet sheet, Collection<String> keywords, int direction) {
+        Map<String, String> result = new LinkedHashMap<>();
+        if (sheet == null || CollectionUtils.isEmpty(keywords)) {
+            return result;
+        }
+        MergedRegionIndex index = MergedRegionIndex.of(sheet);
+        Set<String> remaining = keywords.stream().filter(StringUtils::hasText).collect(Collectors.toSet());
+        for (int i = 0; i <= sheet.getLastRowNum() && !remaining.isEmpty(); i++) {
+            Row row = sheet.getRow(i);
+            if (row != null) {
+                for (int y = 0; y <= row.getLastCellNum() && !remaining.isEmpty(); y++) {
+                    String value = getCellValue(index, i, y);
+                    if (value != null && remaining.remove(value)) {
+                        result.put(value, getNearbyValue(index, i, y, direction));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 一次遍历工作表，搜索每个关键字首次出现的单元格
+     *
+     * @param sheet    工作表
+     * @param keywords 关键字
+     * @return 关键字对应的单元格，没有搜索到的关键字不包含在结果中
+     */
+    public static Map<String, Cell> searchCell(Sheet sheet, Collection<String> keywords) {
+        Map<String, Cell> result = new LinkedHashMap<>();
+        if (sheet == null || CollectionUtils.isEmpty(keywords)) {
+            return result;
+        }
+        MergedRegionIndex index = MergedRegionIndex.of(sheet);
+        Set<String> remaining = keywords.stream().filter(StringUtils::hasText).collect(Collectors.toSet());
+        for (int i = 0; i <= sheet.getLastRowNum() && !remaining.isEmpty(); i++) {
+            Row row = sheet.getRow(i);
+            if (row != null) {
+                for (int y = 0; y <= row.getLastCellNum() && !remaining.isEmpty(); y++) {
+                    Cell cell = row.getCell(y);
+                    if (cell == null) {
+                        continue;
+                    }
+                    String value = getCellValue(index, i, y);
+                    if (value != null && remaining.remove(value)) {
+                        result.put(value, cell);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 将Workbook转换成byte[]，并关闭流，大文件建议使用{@link #write(Workbook, OutputStream)}直接写入输出流
      *
      * @param workbook 工作表
      * @return 字节数组
@@ -711,54 +1573,962 @@ public class ExcelUtil {
     }
 
     /**
-     * 自动根据value类型设置合适的单元格值
-     *
-     * @param cell  单元格
-     * @param value 单元格值
+     * 创建一个新工作表并写入表头和数据
      */
-    private static void setCellValue(Cell cell, Object value) {
-        if (cell == null || value == null) {
-            return;
+    private static void createSheet(Workbook workbook, List<ColumnProperty> columnProperty, Iterator<?> data) {
+        Sheet sheet = workbook.createSheet();
+        writeHeader(sheet, columnProperty);
+        writeRows(sheet, columnProperty, 1, data);
+    }
+
+    /**
+     * 创建xlsx临时文件
+     */
+    private static Path createTempFile() {
+        try {
+            return Files.createTempFile("excel", ".xlsx");
+        } catch (IOException e) {
+            throw new ExcelException("创建临时文件失败", e);
         }
-        if (value instanceof Number) {
-            cell.setCellValue(Double.parseDouble(value.toString()));
-        } else if (value instanceof Boolean) {
-            cell.setCellValue((Boolean) value);
-        } else if (value instanceof Date) {
-            cell.setCellValue(new SimpleDateFormat(DEFAULT_FORMAT).format((Date) value));
-        } else if (value instanceof LocalDateTime) {
-            cell.setCellValue(((LocalDateTime) value).format(FORMATTER));
-        } else if (value instanceof LocalDate) {
-            cell.setCellValue((LocalDate) value);
-        } else if (value instanceof Calendar) {
-            cell.setCellValue((Calendar) value);
-        } else {
-            cell.setCellValue(value.toString());
+    }
+
+    /**
+     * 关闭工作簿，SXSSFWorkbook关闭时会删除刷写行数据产生的临时文件，关闭失败时忽略
+     */
+    private static void closeQuietly(Workbook workbook) {
+        try {
+            workbook.close();
+        } catch (IOException ignored) {
+            // 只在出错时清理资源，不覆盖原来的异常
         }
     }
 
     /**
-     * 获取申明了ExcelProperty注解字段的值
+     * 删除文件或文件夹，删除失败时忽略
      */
-    private static <T> List<ColumnProperty> getExcelProperty(Class<T> clazz) {
-        return Stream.of(clazz.getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(ExcelProperty.class))
-                .map(field -> {
-                    String name = field.getName();
-                    ExcelProperty property = field.getAnnotation(ExcelProperty.class);
-                    return new ColumnProperty(name, property.value(), property.width());
-                })
-                .collect(Collectors.toList());
+    private static void deleteQuietly(@Nullable Path path) {
+        try {
+            FileSystemUtils.deleteRecursively(path);
+        } catch (IOException ignored) {
+            // 临时文件删除失败不影响结果
+        }
+    }
+
+    /**
+     * 写入表头并设置列宽
+     */
+    private static void writeHeader(Sheet sheet, List<ColumnProperty> columnProperty) {
+        Row headerRow = sheet.createRow(0);
+        IntStream.range(0, columnProperty.size()).forEachOrdered(i -> {
+            ColumnProperty property = columnProperty.get(i);
+            Cell cell = headerRow.createCell(i);
+            cell.setCellValue(property.headerName());
+            Integer colWidth = property.getColWidth();
+            if (colWidth != null) {
+                sheet.setColumnWidth(i, colWidth);
+            }
+        });
     }
 
-    private record ColumnProperty(String fieldName, String headerName, short colWidth) {
+    /**
+     * 从startRow开始逐行写入数据
+     */
+    private static void writeRows(Sheet sheet, List<ColumnProperty> columnProperty, int startRow, Iterator<?> data) {
+        int rowIndex = startRow;
+        int columnSize = columnProperty.size();
+        while (data.hasNext()) {
+            Object t = data.next();
+            Row row = sheet.createRow(rowIndex++);
+            for (int j = 0; j < columnSize; j++) {
+                Object value = columnProperty.get(j).getValue(t);
+                setCellValue(row.createCell(j), value);
+            }
+        }
+    }
 
-        private ColumnProperty {
-            Assert.isTrue(colWidth < 255, "列宽最大不能超过255个字符");
+    /**
+     * 以SAX事件流的方式逐行读取工作表，不会将整个工作表加载到内存中，适合读取大文件
+     *
+     * @param file        xlsx文件
+     * @param sheetIndex  工作表索引
+     * @param rowConsumer 每读取一行执行的回调
+     */
+    public static void read(Path file, int sheetIndex, Consumer<ExcelRow> rowConsumer) {
+        Assert.notNull(rowConsumer, "回调不能为空");
+        read(file, sheetIndex, rowConsumer, null, dataFormatter());
+    }
+
+    /**
+     * 以SAX事件流的方式逐行读取工作表中指定的列，首行完整读取，其余行不在columns中的单元格不会解析和格式化，
+     * 适合只需要宽表中少数几列的场景
+     *
+     * @param file        xlsx文件
+     * @param sheetIndex  工作表索引
+     * @param columns     需要读取的列索引
+     * @param rowConsumer 每读取一行执行的回调，{@link ExcelRow#get(int)}仍按原列索引取值，未读取的列为null
+     */
+    public static void readColumns(Path file, int sheetIndex, Collection<Integer> columns, Consumer<ExcelRow> rowConsumer) {
+        Assert.notEmpty(columns, "列索引不能为空");
+        Assert.notNull(rowConsumer, "回调不能为空");
+        ColumnProjection projection = new ColumnProjection();
+        columns.forEach(projection.columns::set);
+        projection.pending = false;
+        read(file, sheetIndex, rowConsumer, projection, dataFormatter());
+    }
+
+    /**
+     * 以SAX事件流的方式逐行读取工作表中指定表头的列，首行为表头，其余行不在表头中的单元格不会解析和格式化，
+     * 适合只需要宽表中少数几列的场景
+     *
+     * @param file        xlsx文件
+     * @param sheetIndex  工作表索引
+     * @param headers     需要读取的列的表头名称，工作表中不存在的表头会被忽略
+     * @param rowConsumer 每读取一行执行的回调，包含表头行，{@link ExcelRow#get(int)}仍按原列索引取值，未读取的列为null
+     */
+    public static void readColumnsByHeader(Path file, int sheetIndex, Collection<String> headers,
+                                           Consumer<ExcelRow> rowConsumer) {
+        Assert.notEmpty(headers, "表头不能为空");
+        Assert.notNull(rowConsumer, "回调不能为空");
+        ColumnProjection projection = new ColumnProjection();
+        read(file, sheetIndex, row -> {
+            if (projection.pending) {
+                for (int i = 0; i < row.values().size(); i++) {
+                    if (headers.contains(row.get(i))) {
+                        projection.columns.set(i);
+                    }
+                }
+                projection.pending = false;
+            }
+            rowConsumer.accept(row);
+        }, projection, dataFormatter());
+    }
+
+    /**
+     * 以SAX事件流的方式逐行读取工作表，并按表头名称将每行数据映射为对象，工作表的首行为表头，
+     * 没有对应字段的列不会解析和格式化。数值单元格按原始值转换，不受单元格格式的精度影响
+     *
+     * @param file       xlsx文件
+     * @param sheetIndex 工作表索引
+     * @param clazz      对象类型，根据字段的{@link ExcelProperty}注解匹配表头
+     * @param consumer   每读取一个对象执行的回调
+     */
+    public static <T> void read(Path file, int sheetIndex, Class<T> clazz, Consumer<T> consumer) {
+        Assert.notNull(clazz, "对象类型不能为空");
+        Assert.notNull(consumer, "回调不能为空");
+        List<ColumnProperty> columnProperty = getExcelProperty(clazz);
+        Assert.notEmpty(columnProperty, "没有需要读取的字段");
+        Constructor<T> constructor;
+        try {
+            constructor = ReflectionUtils.accessibleConstructor(clazz);
+        } catch (NoSuchMethodException e) {
+            throw new ExcelException(clazz.getName() + "缺少无参构造方法", e);
         }
+        ColumnProjection projection = new ColumnProjection();
+        read(file, sheetIndex, new BeanRowMapper<>(columnProperty, constructor, consumer, projection), projection,
+                new RawNumberFormatter());
+    }
 
-        private Integer getColWidth() {
-            return colWidth > -1 ? colWidth * 256 : null;
+    /**
+     * 以SAX事件流的方式逐行读取工作表，projection为null时读取所有列，数值和日期单元格使用formatter转换为文本
+     */
+    private static void read(Path file, int sheetIndex, Consumer<ExcelRow> rowConsumer,
+                             @Nullable ColumnProjection projection, DataFormatter formatter) {
+        Assert.notNull(file, "文件不能为空");
+        Assert.isTrue(sheetIndex >= 0, "工作表索引不能小于0");
+        OPCPackage pkg = null;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            for (int i = 0; sheets.hasNext(); i++) {
+                try (InputStream sheetStream = sheets.next()) {
+                    if (i == sheetIndex) {
+                        RowContentsHandler contentsHandler = new RowContentsHandler(rowConsumer);
+                        XMLReader xmlReader = XMLHelper.newXMLReader();
+                        xmlReader.setContentHandler(projection == null
+                                ? new XSSFSheetXMLHandler(styles, strings, contentsHandler, formatter, false)
+                                : new ProjectedSheetHandler(styles, strings, contentsHandler, formatter, projection));
+                        xmlReader.parse(new InputSource(sheetStream));
+                        return;
+                    }
+                }
+            }
+            throw new ExcelException("工作表不存在: " + sheetIndex);
+        } catch (IOException | OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new ExcelException("读取Excel失败", e);
+        } finally {
+            if (pkg != null) {
+                // 只读打开的文件不需要保存
+                pkg.revert();
+            }
+        }
+    }
+
+    /**
+     * 获取当前线程的DataFormatter
+     */
+    private static DataFormatter dataFormatter() {
+        return DATA_FORMATTER.get();
+    }
+
+    /**
+     * 获取单元格指定方向上相邻单元格的值
+     */
+    @Nullable
+    static String getNearbyValue(MergedRegionIndex index, int row, int col, int direction) {
+        if (direction == SEARCH_UP) {
+            return getCellValue(index, row - 1, col);
+        } else if (direction == SEARCH_RIGHT) {
+            return getCellValue(index, row, col + 1);
+        } else if (direction == SEARCH_DOWN) {
+            return getCellValue(index, row + 1, col);
+        } else if (direction == SEARCH_LEFT) {
+            return getCellValue(index, row, col - 1);
+        }
+        return null;
+    }
+
+    /**
+     * 找出合并单元格中sameCols值相同的行，每行与首次出现相同值的行组成一对，只读取单元格不修改工作簿
+     */
+    private static List<MergedRow> groupMergedRegion(MergedRegionIndex index, CellRangeAddress mr, int[] sameCols) {
+        Sheet sheet = index.getSheet();
+        // 相同的值保留首次出现的行
+        Map<RowKey, Row> firstRows = new HashMap<>();
+        List<MergedRow> mergedRows = new ArrayList<>();
+        for (int i = mr.getFirstRow(); i <= mr.getLastRow(); i++) {
+            Row row = sheet.getRow(i);
+            if (row == null) {
+                continue;
+            }
+            Object[] values = new Object[sameCols.length];
+            for (int j = 0; j < sameCols.length; j++) {
+                values[j] = getCellKeyValue(index, i, sameCols[j]);
+            }
+            Row firstRow = firstRows.putIfAbsent(new RowKey(values), row);
+            if (firstRow != null) {
+                mergedRows.add(new MergedRow(firstRow, row));
+            }
+        }
+        return mergedRows;
+    }
+
+    /**
+     * 获取单元格用于比较的原始值，合并单元格取左上角单元格的值，不经过格式化
+     */
+    @Nullable
+    private static Object getCellKeyValue(MergedRegionIndex index, int row, int col) {
+        CellRangeAddress cra = index.find(row, col);
+        Row sheetRow = index.getSheet().getRow(cra != null ? cra.getFirstRow() : row);
+        Cell cell = sheetRow != null ? sheetRow.getCell(cra != null ? cra.getFirstColumn() : col) : null;
+        if (cell == null) {
+            return null;
+        }
+        CellType cellType = cell.getCellType() == CellType.FORMULA ? cell.getCachedFormulaResultType() : cell.getCellType();
+        return switch (cellType) {
+            case NUMERIC -> cell.getNumericCellValue();
+            case STRING -> {
+                String value = cell.getStringCellValue().trim();
+                yield value.isEmpty() ? null : value;
+            }
+            case BOOLEAN -> cell.getBooleanCellValue();
+            case ERROR -> cell.getErrorCellValue();
+            default -> null;
+        };
+    }
+
+    /**
+     * 删除指定的行并将后面的行上移，合并单元格按删除的行数缩减。
+     * 工作簿中没有依赖行位置的内容时，先按顺序记录保留的行，从首行开始删除所有行后再依次追加回来，
+     * XSSF只有删除首行和追加末行不需要遍历已有的行，整个过程是线性的；
+     * 否则每段连续保留的行调用一次shiftRows，由POI更新公式、名称等引用，XSSF的shiftRows每次都会重建整个工作表的行，行数多时很慢
+     *
+     * @param sheet       工作表
+     * @param removedRows 需要删除的行索引，升序且不重复
+     */
+    private static void removeRows(Sheet sheet, int[] removedRows) {
+        if (removedRows.length == 0) {
+            return;
+        }
+        // 先移除所有合并单元格，行移动完成后再按新的行索引添加回来
+        List<CellRangeAddress> mergedRegions = sheet.getMergedRegions();
+        // removeMergedRegions对传入的集合逐个调用contains，使用Set避免平方复杂度
+        sheet.removeMergedRegions(IntStream.range(0, mergedRegions.size()).boxed().collect(Collectors.toSet()));
+
+        if (isRowPositionIndependent(sheet)) {
+            List<Row> rows = new ArrayList<>(sheet.getPhysicalNumberOfRows());
+            sheet.forEach(rows::add);
+            List<RowSnapshot> snapshots = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                int rowNum = row.getRowNum();
+                if (Arrays.binarySearch(removedRows, rowNum) < 0) {
+                    snapshots.add(RowSnapshot.of(row, rowNum - countLessThan(removedRows, rowNum)));
+                }
+                sheet.removeRow(row);
+            }
+            snapshots.forEach(snapshot -> snapshot.restore(sheet));
+        } else {
+            for (int rowIndex : removedRows) {
+                Row row = sheet.getRow(rowIndex);
+                if (row != null) {
+                    sheet.removeRow(row);
+                }
+            }
+            int lastRow = sheet.getLastRowNum();
+            for (int i = 0; i < removedRows.length; i++) {
+                int blockStart = removedRows[i] + 1;
+                int blockEnd = i + 1 < removedRows.length ? removedRows[i + 1] - 1 : lastRow;
+                if (blockStart <= blockEnd) {
+                    sheet.shiftRows(blockStart, blockEnd, -(i + 1), true, false);
+                }
+            }
+        }
+
+        for (CellRangeAddress mr : mergedRegions) {
+            int firstRow = mr.getFirstRow() - countLessThan(removedRows, mr.getFirstRow());
+            int lastRowOfRegion = mr.getLastRow() - countLessThan(removedRows, mr.getLastRow() + 1);
+            if (firstRow < lastRowOfRegion || (firstRow == lastRowOfRegion && mr.getFirstColumn() < mr.getLastColumn())) {
+                sheet.addMergedRegionUnsafe(new CellRangeAddress(firstRow, lastRowOfRegion, mr.getFirstColumn(), mr.getLastColumn()));
+            }
+        }
+    }
+
+    /**
+     * 工作簿中是否没有会随行移动而改变、或者重建行时会丢失的内容：
+     * 公式、引用该工作表的名称、超链接、批注、数据验证、条件格式、表格、分组和富文本
+     */
+    private static boolean isRowPositionIndependent(Sheet sheet) {
+        if (!sheet.getHyperlinkList().isEmpty() || !sheet.getCellComments().isEmpty()
+                || !sheet.getDataValidations().isEmpty()
+                || sheet.getSheetConditionalFormatting().getNumConditionalFormattings() > 0
+                || (sheet instanceof XSSFSheet xssfSheet && !xssfSheet.getTables().isEmpty())) {
+            return false;
+        }
+        Workbook workbook = sheet.getWorkbook();
+        int sheetIndex = workbook.getSheetIndex(sheet);
+        for (Name name : workbook.getAllNames()) {
+            String formula = name.getRefersToFormula();
+            if (name.getSheetIndex() == sheetIndex || (formula != null && formula.contains(sheet.getSheetName()))) {
+                return false;
+            }
+        }
+        for (Row row : sheet) {
+            if (row.getOutlineLevel() > 0) {
+                return false;
+            }
+            for (Cell cell : row) {
+                if (cell.getCellType() == CellType.STRING && cell.getRichStringCellValue().numFormattingRuns() > 0) {
+                    return false;
+                }
+            }
+        }
+        // 其他工作表的公式也可能引用当前工作表的行
+        for (Sheet s : workbook) {
+            for (Row row : s) {
+                for (Cell cell : row) {
+                    if (cell.getCellType() == CellType.FORMULA) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 统计升序数组中小于value的元素个数
+     */
+    private static int countLessThan(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        return position >= 0 ? position : -position - 1;
+    }
+
+    /**
+     * 写入一行CSV数据，包含行尾的换行符
+     */
+    private static void writeCsvRow(Writer writer, char delimiter, List<ColumnProperty> columnProperty, Object t)
+            throws IOException {
+        for (int j = 0; j < columnProperty.size(); j++) {
+            writeCsvField(writer, j, delimiter, formatCsvValue(columnProperty.get(j).getValue(t)));
+        }
+        writer.write(CSV_LINE_SEPARATOR);
+    }
+
+    /**
+     * 写入一个CSV字段，包含分隔符、引号或换行的值使用双引号包裹
+     */
+    private static void writeCsvField(Writer writer, int col, char delimiter, @Nullable String value) throws IOException {
+        if (col > 0) {
+            writer.write(delimiter);
+        }
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == delimiter || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    /**
+     * 将值格式化为CSV文本，日期与写入Excel时的格式保持一致
+     */
+    @Nullable
+    private static String formatCsvValue(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        } else if (value instanceof Double d && Double.isFinite(d)) {
+            // Double.toString在数值很大或很小时使用科学计数法，并且尾数会多出0，如1.0E-5
+            return BigDecimal.valueOf(d).stripTrailingZeros().toPlainString();
+        } else if (value instanceof Float f && Float.isFinite(f)) {
+            return new BigDecimal(f.toString()).stripTrailingZeros().toPlainString();
+        } else if (value instanceof Date date) {
+            return FORMATTER.format(LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault()));
+        } else if (value instanceof LocalDateTime localDateTime) {
+            return localDateTime.format(FORMATTER);
+        } else if (value instanceof Calendar calendar) {
+            return FORMATTER.format(LocalDateTime.ofInstant(calendar.toInstant(), calendar.getTimeZone().toZoneId()));
+        }
+        return value.toString();
+    }
+
+    /**
+     * 获取工作表中的所有图片
+     */
+    private static Stream<XSSFPicture> getPictures(XSSFSheet sheet) {
+        XSSFDrawing drawing = sheet.getDrawingPatriarch();
+        if (drawing == null) {
+            return Stream.empty();
+        }
+        return drawing.getShapes().stream()
+                .filter(XSSFPicture.class::isInstance)
+                .map(XSSFPicture.class::cast);
+    }
+
+    /**
+     * 获取行中每个单元格的样式，下标为列索引，不存在的单元格为null
+     */
+    private static CellStyle[] getRowStyles(Row row) {
+        CellStyle[] styles = new CellStyle[Math.max(row.getLastCellNum(), 0)];
+        for (int j = 0; j < styles.length; j++) {
+            Cell cell = row.getCell(j);
+            styles[j] = cell != null ? cell.getCellStyle() : null;
+        }
+        return styles;
+    }
+
+    /**
+     * 自动根据value类型设置合适的单元格值
+     *
+     * @param cell  单元格
+     * @param value 单元格值
+     */
+    private static void setCellValue(Cell cell, Object value) {
+        if (cell == null || value == null) {
+            return;
+        }
+        getCellValueWriter(value.getClass()).write(cell, value);
+    }
+
+    /**
+     * 查找类型对应的写入方式，依次匹配类型本身、父类和接口，都没有注册时写入toString的值
+     */
+    @SuppressWarnings("unchecked")
+    private static CellValueWriter<Object> getCellValueWriter(Class<?> type) {
+        return RESOLVED_CELL_VALUE_WRITERS.computeIfAbsent(type, key -> {
+            for (Class<?> c = key; c != null; c = c.getSuperclass()) {
+                CellValueWriter<?> writer = CELL_VALUE_WRITERS.get(c);
+                if (writer != null) {
+                    return (CellValueWriter<Object>) writer;
+                }
+            }
+            return ClassUtils.getAllInterfacesForClassAsSet(key).stream()
+                    .map(CELL_VALUE_WRITERS::get)
+                    .filter(Objects::nonNull)
+                    .findFirst()
+                    .map(writer -> (CellValueWriter<Object>) writer)
+                    .orElse((cell, value) -> cell.setCellValue(value.toString()));
+        });
+    }
+
+    /**
+     * 写入日期值，并使用工作簿中缓存的日期样式
+     */
+    private static void setDateStyle(Cell cell, String format) {
+        CellStyle style = cell.getCellStyle();
+        if (!format.equals(style.getDataFormatString())) {
+            cell.setCellStyle(CellStylePool.of(cell.getSheet().getWorkbook()).withDataFormat(style, format));
+        }
+    }
+
+    /**
+     * 获取申明了ExcelProperty注解字段的列信息，解析结果按类缓存
+     */
+    private static <T> List<ColumnProperty> getExcelProperty(Class<T> clazz) {
+        return COLUMN_PROPERTIES.get(clazz);
+    }
+
+    /**
+     * 解析申明了ExcelProperty注解的字段，并预先生成字段值的访问句柄
+     */
+    private static List<ColumnProperty> resolveExcelProperty(Class<?> clazz) {
+        // 允许访问调用方模块中的类
+        ExcelUtil.class.getModule().addReads(clazz.getModule());
+        return Stream.of(clazz.getDeclaredFields())
+                .filter(field -> field.isAnnotationPresent(ExcelProperty.class))
+                .map(field -> {
+                    String name = field.getName();
+                    ExcelProperty property = field.getAnnotation(ExcelProperty.class);
+                    return new ColumnProperty(name, property.value(), property.width(), field.getType(),
+                            getterHandle(clazz, field), setterHandle(clazz, field));
+                })
+                .toList();
+    }
+
+    /**
+     * 生成字段值的访问句柄，优先使用getter方法，没有getter方法时直接读取字段
+     */
+    private static MethodHandle getterHandle(Class<?> clazz, Field field) {
+        PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(clazz, field.getName());
+        try {
+            MethodHandle handle;
+            if (pd != null && pd.getReadMethod() != null) {
+                Method readMethod = pd.getReadMethod();
+                ReflectionUtils.makeAccessible(readMethod);
+                handle = MethodHandles.lookup().unreflect(readMethod);
+            } else {
+                ReflectionUtils.makeAccessible(field);
+                handle = MethodHandles.lookup().unreflectGetter(field);
+            }
+            // 统一为(Object)Object，以便通过invokeExact调用
+            return handle.asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new ExcelException("无法访问字段" + clazz.getName() + "." + field.getName(), e);
+        }
+    }
+
+    /**
+     * 生成字段值的设置句柄，优先使用setter方法，没有setter方法时直接设置字段，final字段返回null
+     */
+    @Nullable
+    private static MethodHandle setterHandle(Class<?> clazz, Field field) {
+        PropertyDescriptor pd = BeanUtils.getPropertyDescriptor(clazz, field.getName());
+        try {
+            MethodHandle handle;
+            if (pd != null && pd.getWriteMethod() != null) {
+                Method writeMethod = pd.getWriteMethod();
+                ReflectionUtils.makeAccessible(writeMethod);
+                handle = MethodHandles.lookup().unreflect(writeMethod);
+            } else if (!Modifier.isFinal(field.getModifiers())) {
+                ReflectionUtils.makeAccessible(field);
+                handle = MethodHandles.lookup().unreflectSetter(field);
+            } else {
+                return null;
+            }
+            // 统一为(Object,Object)void，以便通过invokeExact调用
+            return handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        } catch (IllegalAccessException e) {
+            throw new ExcelException("无法访问字段" + clazz.getName() + "." + field.getName(), e);
+        }
+    }
+
+    private record ColumnProperty(String fieldName, String headerName, short colWidth, Class<?> type,
+                                  MethodHandle getter, @Nullable MethodHandle setter) {
+
+        private ColumnProperty {
+            Assert.isTrue(colWidth < 255, "列宽最大不能超过255个字符");
+        }
+
+        private Integer getColWidth() {
+            return colWidth > -1 ? colWidth * 256 : null;
+        }
+
+        private Object getValue(Object bean) {
+            try {
+                return (Object) getter.invokeExact(bean);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ExcelException("获取字段" + fieldName + "的值失败", e);
+            }
+        }
+
+        /**
+         * 将单元格的文本值转换为字段类型后设置到对象中，空值和没有setter的字段会被忽略
+         */
+        private void setValue(Object bean, @Nullable String text) {
+            if (setter == null || !StringUtils.hasLength(text)) {
+                return;
+            }
+            Object value;
+            try {
+                value = CONVERSION_SERVICE.convert(text, type);
+            } catch (ConversionException e) {
+                throw new ExcelException("字段" + fieldName + "的值[" + text + "]转换失败", e);
+            }
+            try {
+                setter.invokeExact(bean, value);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new ExcelException("设置字段" + fieldName + "的值失败", e);
+            }
+        }
+    }
+
+    /**
+     * 将SAX解析的单元格事件组装成行
+     */
+    private static class RowContentsHandler implements XSSFSheetXMLHandler.SheetContentsHandler {
+
+        private final Consumer<ExcelRow> rowConsumer;
+
+        private List<String> values;
+
+        private int currentCol;
+
+        private RowContentsHandler(Consumer<ExcelRow> rowConsumer) {
+            this.rowConsumer = rowConsumer;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            values = new ArrayList<>();
+            currentCol = -1;
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            rowConsumer.accept(new ExcelRow(rowNum, Collections.unmodifiableList(values)));
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            // 缺少位置信息的单元格紧跟在上一个单元格之后
+            currentCol = cellReference != null ? new CellReference(cellReference).getCol() : currentCol + 1;
+            while (values.size() < currentCol) {
+                values.add(null);
+            }
+            values.add(formattedValue != null ? formattedValue.trim() : null);
+        }
+    }
+
+    /**
+     * 读取时需要解析的列，首行之后的行只解析columns中的列
+     */
+    private static class ColumnProjection {
+
+        private final BitSet columns = new BitSet();
+
+        /**
+         * 列是否需要根据首行的表头确定，确定前读取所有列
+         */
+        private boolean pending = true;
+    }
+
+    /**
+     * 跳过投影外单元格的工作表解析器，被跳过的&lt;c&gt;元素及其子元素不会传给{@link XSSFSheetXMLHandler}，
+     * 因此不会查找共享字符串和格式化
+     */
+    private static class ProjectedSheetHandler extends XSSFSheetXMLHandler {
+
+        private final ColumnProjection projection;
+
+        private boolean headerRowRead;
+
+        private boolean projecting;
+
+        private boolean skipping;
+
+        private int currentCol;
+
+        private ProjectedSheetHandler(StylesTable styles, ReadOnlySharedStringsTable strings,
+                                      SheetContentsHandler contentsHandler, DataFormatter formatter,
+                                      ColumnProjection projection) {
+            super(styles, strings, contentsHandler, formatter, false);
+            this.projection = projection;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) throws SAXException {
+            if (skipping) {
+                return;
+            }
+            if ("row".equals(localName)) {
+                // 首行总是完整读取，用于确定表头
+                projecting = headerRowRead && !projection.pending;
+                headerRowRead = true;
+                currentCol = -1;
+            } else if ("c".equals(localName)) {
+                String reference = attributes.getValue("r");
+                currentCol = reference != null ? columnIndex(reference) : currentCol + 1;
+                if (projecting && !projection.columns.get(currentCol)) {
+                    skipping = true;
+                    return;
+                }
+            }
+            super.startElement(uri, localName, qName, attributes);
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            if (skipping) {
+                skipping = !"c".equals(localName);
+                return;
+            }
+            super.endElement(uri, localName, qName);
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) throws SAXException {
+            if (!skipping) {
+                super.characters(ch, start, length);
+            }
+        }
+
+        /**
+         * 从A1格式的单元格引用中解析列索引，不创建CellReference对象
+         */
+        private static int columnIndex(String reference) {
+            int col = 0;
+            for (int i = 0; i < reference.length(); i++) {
+                char c = reference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                col = col * 26 + c - 'A' + 1;
+            }
+            return col - 1;
+        }
+    }
+
+    /**
+     * 映射对象时使用的DataFormatter，日期仍按单元格格式输出，其他数值输出完整的原始值。
+     * 常规格式只保留11位有效数字，长整型的id会变成科学计数法，高精度的金额会被截断
+     */
+    private static class RawNumberFormatter extends DataFormatter {
+
+        @Override
+        public String formatRawCellContents(double value, int formatIndex, String formatString, boolean use1904Windowing) {
+            if (DateUtil.isADateFormat(formatIndex, formatString)) {
+                return super.formatRawCellContents(value, formatIndex, formatString, use1904Windowing);
+            }
+            return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+        }
+    }
+
+    /**
+     * 以首行为表头，按表头名称将行数据映射为对象
+     */
+    private static class BeanRowMapper<T> implements Consumer<ExcelRow> {
+
+        private final List<ColumnProperty> columnProperty;
+
+        private final Constructor<T> constructor;
+
+        private final Consumer<T> consumer;
+
+        private final ColumnProjection projection;
+
+        /**
+         * 下标为列索引，没有对应字段的列为null
+         */
+        private ColumnProperty[] columns;
+
+        private BeanRowMapper(List<ColumnProperty> columnProperty, Constructor<T> constructor, Consumer<T> consumer,
+                              ColumnProjection projection) {
+            this.columnProperty = columnProperty;
+            this.constructor = constructor;
+            this.consumer = consumer;
+            this.projection = projection;
+        }
+
+        @Override
+        public void accept(ExcelRow row) {
+            if (columns == null) {
+                Map<String, ColumnProperty> headers = columnProperty.stream()
+                        .collect(Collectors.toMap(ColumnProperty::headerName, Function.identity(), (a, b) -> a));
+                columns = row.values().stream()
+                        .map(header -> header != null ? headers.get(header) : null)
+                        .toArray(ColumnProperty[]::new);
+                // 后续行只解析有对应字段的列
+                for (int i = 0; i < columns.length; i++) {
+                    if (columns[i] != null) {
+                        projection.columns.set(i);
+                    }
+                }
+                projection.pending = false;
+                return;
+            }
+            T bean = BeanUtils.instantiateClass(constructor);
+            for (int i = 0; i < columns.length; i++) {
+                if (columns[i] != null) {
+                    columns[i].setValue(bean, row.get(i));
+                }
+            }
+            consumer.accept(bean);
+        }
+    }
+
+    /**
+     * 重建行时记录的行高、样式和单元格
+     */
+    private record RowSnapshot(int rowNum, short height, boolean zeroHeight, @Nullable CellStyle rowStyle,
+                               List<CellSnapshot> cells) {
+
+        static RowSnapshot of(Row row, int rowNum) {
+            List<CellSnapshot> cells = new ArrayList<>(row.getPhysicalNumberOfCells());
+            row.forEach(cell -> cells.add(CellSnapshot.of(cell)));
+            return new RowSnapshot(rowNum, row.getHeight(), row.getZeroHeight(),
+                    row.isFormatted() ? row.getRowStyle() : null, cells);
+        }
+
+        void restore(Sheet sheet) {
+            Row row = sheet.createRow(rowNum);
+            row.setHeight(height);
+            row.setZeroHeight(zeroHeight);
+            if (rowStyle != null) {
+                row.setRowStyle(rowStyle);
+            }
+            cells.forEach(cell -> cell.restore(row));
+        }
+    }
+
+    /**
+     * 重建行时记录的单元格样式和值，不包含公式
+     */
+    private record CellSnapshot(int column, CellStyle style, CellType type, @Nullable Object value) {
+
+        static CellSnapshot of(Cell cell) {
+            CellType type = cell.getCellType();
+            Object value = switch (type) {
+                case NUMERIC -> cell.getNumericCellValue();
+                case STRING -> cell.getStringCellValue();
+                case BOOLEAN -> cell.getBooleanCellValue();
+                case ERROR -> cell.getErrorCellValue();
+                default -> null;
+            };
+            return new CellSnapshot(cell.getColumnIndex(), cell.getCellStyle(), type, value);
+        }
+
+        void restore(Row row) {
+            Cell cell = row.createCell(column);
+            cell.setCellStyle(style);
+            switch (type) {
+                case NUMERIC -> cell.setCellValue((Double) value);
+                case STRING -> cell.setCellValue((String) value);
+                case BOOLEAN -> cell.setCellValue((Boolean) value);
+                case ERROR -> cell.setCellErrorValue((Byte) value);
+                default -> cell.setBlank();
+            }
+        }
+    }
+
+    /**
+     * 被合并的行和累加到的首行
+     */
+    private record MergedRow(Row target, Row source) {
+    }
+
+    /**
+     * 多个单元格原始值组成的复合键
+     */
+    private record RowKey(Object[] values) {
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RowKey other && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
+    }
+
+    /**
+     * 最多迭代limit个元素的迭代器，不会多取出源迭代器中的元素
+     */
+    private static class LimitedIterator<T> implements Iterator<T> {
+
+        private final Iterator<T> source;
+
+        private int remaining;
+
+        private LimitedIterator(Iterator<T> source, int limit) {
+            this.source = source;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0 && source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            return source.next();
+        }
+    }
+
+    /**
+     * 按页加载数据的迭代器，同一时间只持有一页数据
+     */
+    private static class PageIterator<T> implements Iterator<T> {
+
+        private final IntFunction<List<T>> pageLoader;
+
+        private Iterator<T> current = Collections.emptyIterator();
+
+        private int pageNumber;
+
+        private boolean finished;
+
+        private PageIterator(IntFunction<List<T>> pageLoader) {
+            this.pageLoader = pageLoader;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext() && !finished) {
+                List<T> page = pageLoader.apply(pageNumber++);
+                if (page == null || page.isEmpty()) {
+                    finished = true;
+                } else {
+                    current = page.iterator();
+                }
+            }
+            return current.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
         }
     }
 
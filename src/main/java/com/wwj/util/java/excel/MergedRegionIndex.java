@@ -0,0 +1,130 @@
+package com.wwj.util.java.excel;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 工作表合并单元格的索引，用于在大量合并单元格中以O(log n)的复杂度查找单元格所属的合并单元格。
+ * 索引是构建时合并单元格的快照，工作表的合并单元格发生变化后需要重新构建
+ *
+ * @author wwj
+ */
+public final class MergedRegionIndex {
+
+    private static final CellRangeAddress[] EMPTY = new CellRangeAddress[0];
+
+    private final Sheet sheet;
+
+    /**
+     * 按行划分的区间，key为区间的起始行，value为覆盖该区间所有行的合并单元格，按起始列排序
+     */
+    private final NavigableMap<Integer, CellRangeAddress[]> bands = new TreeMap<>();
+
+    private MergedRegionIndex(Sheet sheet) {
+        this.sheet = sheet;
+        build(sheet.getMergedRegions());
+    }
+
+    /**
+     * 为工作表构建合并单元格索引
+     *
+     * @param sheet 工作表
+     * @return 合并单元格索引
+     */
+    public static MergedRegionIndex of(Sheet sheet) {
+        Assert.notNull(sheet, "sheet不能为空");
+        return new MergedRegionIndex(sheet);
+    }
+
+    public Sheet getSheet() {
+        return sheet;
+    }
+
+    /**
+     * 获取单元格所属的合并单元格
+     *
+     * @param row 行索引
+     * @param col 列索引
+     * @return 合并单元格的范围，如果不是合并单元格返回null
+     */
+    @Nullable
+    public CellRangeAddress find(int row, int col) {
+        Map.Entry<Integer, CellRangeAddress[]> band = bands.floorEntry(row);
+        if (band == null) {
+            return null;
+        }
+        CellRangeAddress[] regions = band.getValue();
+        // 查找起始列不大于col的最后一个合并单元格
+        int low = 0;
+        int high = regions.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (regions[mid].getFirstColumn() <= col) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (high < 0) {
+            return null;
+        }
+        CellRangeAddress region = regions[high];
+        return region.isInRange(row, col) ? region : null;
+    }
+
+    /**
+     * 测试单元格是否是所属合并单元格的左上角单元格
+     *
+     * @param row 行索引
+     * @param col 列索引
+     * @return 如果是所在合并单元格的左上角单元格时返回true，否则返回false
+     */
+    public boolean isFirstCell(int row, int col) {
+        CellRangeAddress region = find(row, col);
+        return region != null && region.getFirstRow() == row && region.getFirstColumn() == col;
+    }
+
+    /**
+     * 按行扫描合并单元格的起止行，将覆盖相同合并单元格的连续行合并为一个区间
+     */
+    private void build(List<CellRangeAddress> regions) {
+        TreeMap<Integer, List<CellRangeAddress>> starts = new TreeMap<>();
+        TreeMap<Integer, List<CellRangeAddress>> ends = new TreeMap<>();
+        for (CellRangeAddress region : regions) {
+            starts.computeIfAbsent(region.getFirstRow(), k -> new ArrayList<>()).add(region);
+            ends.computeIfAbsent(region.getLastRow() + 1, k -> new ArrayList<>()).add(region);
+        }
+        List<CellRangeAddress> active = new ArrayList<>();
+        Integer boundary = firstKey(starts, ends);
+        while (boundary != null) {
+            List<CellRangeAddress> ended = ends.remove(boundary);
+            if (ended != null) {
+                active.removeAll(ended);
+            }
+            List<CellRangeAddress> started = starts.remove(boundary);
+            if (started != null) {
+                active.addAll(started);
+                active.sort(Comparator.comparingInt(CellRangeAddress::getFirstColumn));
+            }
+            bands.put(boundary, active.isEmpty() ? EMPTY : active.toArray(EMPTY));
+            boundary = firstKey(starts, ends);
+        }
+    }
+
+    @Nullable
+    private static Integer firstKey(TreeMap<Integer, ?> a, TreeMap<Integer, ?> b) {
+        if (a.isEmpty()) {
+            return b.isEmpty() ? null : b.firstKey();
+        }
+        return b.isEmpty() ? a.firstKey() : Math.min(a.firstKey(), b.firstKey());
+    }
+}
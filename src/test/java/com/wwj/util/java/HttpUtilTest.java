@@ -0,0 +1,167 @@
+package com.wwj.util.java;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HttpUtilTest {
+
+    private static final String BODY = "{\"name\":\"压缩的响应\"}".repeat(100);
+
+    private HttpServer server;
+
+    private volatile String acceptEncoding;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/empty", exchange -> respondEmpty(exchange, 200));
+        server.createContext("/no-content", exchange -> respondEmpty(exchange, 204));
+        server.createContext("/error", exchange -> respondEmpty(exchange, 500));
+        server.createContext("/identity", exchange -> respond(exchange, null, bytes(BODY)));
+        server.createContext("/gzip", exchange -> respond(exchange, "gzip", gzip(bytes(BODY))));
+        server.createContext("/x-gzip", exchange -> respond(exchange, "x-gzip", gzip(bytes(BODY))));
+        server.createContext("/deflate", exchange -> respond(exchange, "deflate", deflate(bytes(BODY), false)));
+        server.createContext("/raw-deflate", exchange -> respond(exchange, "deflate", deflate(bytes(BODY), true)));
+        server.createContext("/stacked", exchange -> respond(exchange, "deflate, Identity, GZIP",
+                gzip(deflate(bytes(BODY), false))));
+        server.createContext("/sniffed-gzip", exchange -> respond(exchange, null, gzip(bytes(BODY))));
+        server.createContext("/br", exchange -> respond(exchange, "br", bytes(BODY)));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void requestsAdvertiseSupportedEncodings() {
+        HttpUtil.send(get("/identity"));
+        assertEquals("gzip, deflate", acceptEncoding);
+
+        HttpUtil.send(HttpRequest.newBuilder(uri("/identity")).header("Accept-Encoding", "identity").build());
+        assertEquals("identity", acceptEncoding);
+    }
+
+    @Test
+    void eachContentEncodingIsDecoded() {
+        for (String path : new String[]{"/identity", "/gzip", "/x-gzip", "/deflate", "/raw-deflate", "/stacked",
+                "/sniffed-gzip"}) {
+            assertEquals(BODY, HttpUtil.send(get(path)), path);
+            assertEquals(BODY, HttpUtil.sendAsync(get(path)).join(), path);
+            assertEquals(BODY, HttpUtil.sendAndRead(get(path), HttpUtilTest::readString), path);
+        }
+    }
+
+    @Test
+    void unsupportedContentEncodingThrowsRestClientException() {
+        RestClientException e = assertThrows(RestClientException.class, () -> HttpUtil.send(get("/br")));
+        assertEquals("不支持的Content-Encoding: br", e.getMessage());
+    }
+
+    @Test
+    void emptyCompressedBodyIsReadAsEmpty() {
+        assertEquals("", HttpUtil.send(get("/empty")));
+        assertEquals("", HttpUtil.sendAsync(get("/empty")).join());
+        assertEquals(0, HttpUtil.sendAndRead(get("/empty"), HttpUtilTest::readLength));
+    }
+
+    @Test
+    void noContentAndHeadResponsesAreReadAsEmpty() {
+        assertEquals("", HttpUtil.send(get("/no-content")));
+        assertEquals("", HttpUtil.send(HttpRequest.newBuilder(uri("/empty"))
+                .method("HEAD", HttpRequest.BodyPublishers.noBody()).build()));
+    }
+
+    @Test
+    void emptyCompressedErrorBodyKeepsStatusException() {
+        RestClientResponseException e = assertThrows(RestClientResponseException.class,
+                () -> HttpUtil.send(get("/error")));
+        assertEquals(500, e.getStatusCode().value());
+        assertEquals("", e.getResponseBodyAsString());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + path);
+    }
+
+    private static String readString(InputStream in) {
+        try {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int readLength(InputStream in) {
+        try {
+            return in.readAllBytes().length;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void respond(HttpExchange exchange, String contentEncoding, byte[] body) throws IOException {
+        acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (contentEncoding != null) {
+            exchange.getResponseHeaders().add("Content-Encoding", contentEncoding);
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream os = new GZIPOutputStream(bos)) {
+            os.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, boolean nowrap) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+        try (DeflaterOutputStream os = new DeflaterOutputStream(bos, deflater)) {
+            os.write(data);
+        } finally {
+            deflater.end();
+        }
+        return bos.toByteArray();
+    }
+
+    private static void respondEmpty(HttpExchange exchange, int statusCode) throws IOException {
+        exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        exchange.sendResponseHeaders(statusCode, -1);
+        exchange.close();
+    }
+}
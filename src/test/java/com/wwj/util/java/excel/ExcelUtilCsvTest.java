@@ -0,0 +1,103 @@
+package com.wwj.util.java.excel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExcelUtilCsvTest {
+
+    @Test
+    void writeCsvQuotesFieldsWithDelimiterQuoteOrLineBreak() {
+        List<Item> items = List.of(
+                new Item("a,\"b\"\nc", null, null, null, null),
+                new Item("plain\ttab", null, null, null, LocalDateTime.of(2024, 1, 2, 3, 4, 5)));
+
+        assertEquals("名称,比例,重量,金额,时间\r\n"
+                + "\"a,\"\"b\"\"\nc\",,,,\r\n"
+                + "plain\ttab,,,,2024-01-02 03:04:05\r\n", writeCsv(items, ','));
+        assertEquals("名称\t比例\t重量\t金额\t时间\r\n"
+                + "\"a,\"\"b\"\"\nc\"\t\t\t\t\r\n"
+                + "\"plain\ttab\"\t\t\t\t2024-01-02 03:04:05\r\n", writeCsv(items, '\t'));
+    }
+
+    @Test
+    void writeCsvFormatsFloatingPointWithoutScientificNotation() {
+        List<Item> items = List.of(
+                new Item("x", 1.0E10, 0.1F, new BigDecimal("1E+3"), null),
+                new Item("y", 1.0E-5, 1.0E-7F, new BigDecimal("0.10"), null),
+                new Item("z", Double.NaN, Float.POSITIVE_INFINITY, null, null),
+                new Item("w", 100.0, 2.50F, null, null));
+
+        String[] lines = writeCsv(items, ',').split("\r\n");
+
+        assertEquals("x,10000000000,0.1,1000,", lines[1]);
+        assertEquals("y,0.00001,0.0000001,0.10,", lines[2]);
+        assertEquals("z,NaN,Infinity,,", lines[3]);
+        assertEquals("w,100,2.5,,", lines[4]);
+    }
+
+    @Test
+    void writeCsvToTempFileRejectsNullElementsAndDeletesFile() throws IOException {
+        Path file = ExcelUtil.writeCsvToTempFile(List.of(new Item("x", 1.5, null, null, null)));
+        try {
+            assertEquals(List.of("名称,比例,重量,金额,时间", "x,1.5,,,"), Files.readAllLines(file, StandardCharsets.UTF_8));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        List<Item> items = Arrays.asList(new Item("x", null, null, null, null), null);
+        Set<Path> before = listCsvFiles(file.getParent());
+        assertThrows(IllegalArgumentException.class, () -> ExcelUtil.writeCsvToTempFile(items.iterator(), ','));
+        assertEquals(before, listCsvFiles(file.getParent()));
+    }
+
+    private static Set<Path> listCsvFiles(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(path -> path.getFileName().toString().matches("csv.*\\.csv"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    private static String writeCsv(List<Item> items, char delimiter) {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ExcelUtil.writeCsv(items.iterator(), delimiter, Channels.newChannel(os));
+        return os.toString(StandardCharsets.UTF_8);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+
+        @ExcelProperty("名称")
+        private String name;
+
+        @ExcelProperty("比例")
+        private Double ratio;
+
+        @ExcelProperty("重量")
+        private Float weight;
+
+        @ExcelProperty("金额")
+        private BigDecimal amount;
+
+        @ExcelProperty("时间")
+        private LocalDateTime time;
+    }
+}
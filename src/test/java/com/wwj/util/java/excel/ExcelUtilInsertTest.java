@@ -0,0 +1,85 @@
+package com.wwj.util.java.excel;
+
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcelUtilInsertTest {
+
+    @Test
+    void insertRowsAtSeveralPositionsShiftsEachRowOnce() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("s");
+            CellStyle style = workbook.createCellStyle();
+            style.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+            for (int i = 0; i < 6; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("r" + i);
+            }
+            sheet.getRow(2).setHeightInPoints(25);
+            sheet.getRow(2).getCell(0).setCellStyle(style);
+            sheet.getRow(0).createCell(1).setCellFormula("A6");
+
+            Map<Integer, Integer> blockStarts = ExcelUtil.insertRows(sheet, Map.of(2, 2, 4, 1, 5, 1, 3, 0));
+
+            assertEquals(Map.of(2, 2, 4, 6, 5, 8), blockStarts);
+            assertEquals(9, sheet.getLastRowNum());
+            String[] expected = {"r0", "r1", "", "", "r2", "r3", "", "r4", "", "r5"};
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i], sheet.getRow(i).getCell(0).getStringCellValue(), "第" + i + "行");
+            }
+            for (int i = 2; i <= 4; i++) {
+                assertEquals(25, sheet.getRow(i).getHeightInPoints());
+                assertEquals(style.getIndex(), sheet.getRow(i).getCell(0).getCellStyle().getIndex());
+            }
+            assertEquals("A10", sheet.getRow(0).getCell(1).getCellFormula());
+        }
+    }
+
+    @Test
+    void insertRowsWithoutPositiveNumbersLeavesSheetUnchanged() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("s");
+            sheet.createRow(0).createCell(0).setCellValue("r0");
+
+            assertTrue(ExcelUtil.insertRows(sheet, Map.of(0, 0)).isEmpty());
+            ExcelUtil.insertRow(sheet, 0, -1);
+
+            assertEquals(0, sheet.getLastRowNum());
+            assertEquals("r0", sheet.getRow(0).getCell(0).getStringCellValue());
+        }
+    }
+
+    @Test
+    void insertAndFillRowsWritesEachBlockAtItsShiftedPosition() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("s");
+            for (int i = 0; i < 4; i++) {
+                sheet.createRow(i).createCell(0).setCellValue("r" + i);
+            }
+
+            ExcelUtil.insertAndFillRows(sheet, Map.of(
+                    1, List.of(List.of("a", 1), List.of("b", 2)),
+                    3, List.of(List.of("c", 3))));
+
+            assertEquals(6, sheet.getLastRowNum());
+            String[] expected = {"r0", "a", "b", "r1", "r2", "c", "r3"};
+            for (int i = 0; i < expected.length; i++) {
+                Row row = sheet.getRow(i);
+                assertEquals(expected[i], row.getCell(0).getStringCellValue(), "第" + i + "行");
+            }
+            assertEquals(1, sheet.getRow(1).getCell(1).getNumericCellValue());
+            assertEquals(2, sheet.getRow(2).getCell(1).getNumericCellValue());
+            assertEquals(3, sheet.getRow(5).getCell(1).getNumericCellValue());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.wwj.util.java.excel;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ExcelUtilReadColumnsTest {
+
+    private static final List<String> HEADERS = List.of("编号", "名称", "备注", "金额");
+
+    private Path file;
+
+    @BeforeEach
+    void writeFile() throws IOException {
+        file = Files.createTempFile("excel", ".xlsx");
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream os = Files.newOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.size(); i++) {
+                header.createCell(i).setCellValue(HEADERS.get(i));
+            }
+            for (int i = 1; i <= 3; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue(i);
+                row.createCell(1).setCellValue("商品" + i);
+                row.createCell(2).setCellValue("备注" + i);
+                row.createCell(3).setCellValue(i * 1.5);
+            }
+            workbook.write(os);
+        }
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void readColumnsByHeaderReadsOnlyMatchingColumnsAfterHeaderRow() {
+        List<ExcelRow> rows = new ArrayList<>();
+        ExcelUtil.readColumnsByHeader(file, 0, Set.of("名称", "金额", "不存在"), rows::add);
+
+        assertEquals(4, rows.size());
+        assertEquals(HEADERS, rows.get(0).values());
+        for (int i = 1; i <= 3; i++) {
+            ExcelRow row = rows.get(i);
+            assertEquals(i, row.rowNum());
+            assertNull(row.get(0));
+            assertEquals("商品" + i, row.get(1));
+            assertNull(row.get(2));
+            assertEquals(List.of("1.5", "3", "4.5").get(i - 1), row.get(3));
+        }
+    }
+
+    @Test
+    void readColumnsByHeaderWithoutMatchingHeaderReadsNoDataColumns() {
+        List<ExcelRow> rows = new ArrayList<>();
+        ExcelUtil.readColumnsByHeader(file, 0, Set.of("不存在"), rows::add);
+
+        assertEquals(4, rows.size());
+        assertEquals(HEADERS, rows.get(0).values());
+        for (int i = 1; i <= 3; i++) {
+            for (int col = 0; col < HEADERS.size(); col++) {
+                assertNull(rows.get(i).get(col));
+            }
+        }
+    }
+
+    @Test
+    void readColumnsReadsHeaderRowCompletelyAndOtherRowsByIndex() {
+        List<ExcelRow> rows = new ArrayList<>();
+        ExcelUtil.readColumns(file, 0, List.of(0, 2), rows::add);
+
+        assertEquals(HEADERS, rows.get(0).values());
+        ExcelRow row = rows.get(2);
+        assertEquals("2", row.get(0));
+        assertNull(row.get(1));
+        assertEquals("备注2", row.get(2));
+        assertNull(row.get(3));
+    }
+}
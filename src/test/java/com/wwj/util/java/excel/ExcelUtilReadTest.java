@@ -0,0 +1,144 @@
+package com.wwj.util.java.excel;
+
+import lombok.Data;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExcelUtilReadTest {
+
+    @Test
+    void readBeanKeepsLongIdsAndHighPrecisionDecimals() throws IOException {
+        Order order = new Order();
+        order.setId(123456789012345L);
+        order.setAmount(new BigDecimal("123456789.123456"));
+        order.setCount(3);
+        order.setName("订单");
+        order.setCreateTime(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        Path file = ExcelUtil.writeToTempFile(List.of(order));
+        try {
+            List<Order> orders = new ArrayList<>();
+            ExcelUtil.read(file, 0, Order.class, orders::add);
+
+            assertEquals(1, orders.size());
+            Order read = orders.get(0);
+            assertEquals(123456789012345L, read.getId());
+            assertEquals(0, new BigDecimal("123456789.123456").compareTo(read.getAmount()));
+            assertEquals(3, read.getCount());
+            assertEquals("订单", read.getName());
+            assertEquals(order.getCreateTime(), read.getCreateTime());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void readFormatsCellsAndKeepsColumnAndRowPositions() throws IOException {
+        Path file = Files.createTempFile("excel", ".xlsx");
+        try {
+            try (Workbook workbook = new XSSFWorkbook(); OutputStream os = Files.newOutputStream(file)) {
+                workbook.createSheet("first").createRow(0).createCell(0).setCellValue("其他工作表");
+                Sheet sheet = workbook.createSheet("second");
+                CellStyle amountStyle = workbook.createCellStyle();
+                amountStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+                Row row = sheet.createRow(0);
+                row.createCell(0).setCellValue(" 名称 ");
+                row.createCell(1).setCellValue(1.5);
+                row.getCell(1).setCellStyle(amountStyle);
+                row.createCell(3).setCellValue(true);
+                sheet.createRow(2).createCell(1).setCellValue(42);
+                workbook.write(os);
+            }
+            List<ExcelRow> rows = new ArrayList<>();
+            ExcelUtil.read(file, 1, rows::add);
+
+            assertEquals(2, rows.size());
+            ExcelRow first = rows.get(0);
+            assertEquals(0, first.rowNum());
+            assertEquals(List.of("名称", "1.50"), first.values().subList(0, 2));
+            assertNull(first.get(2));
+            assertEquals("TRUE", first.get(3));
+            assertNull(first.get(10));
+            ExcelRow second = rows.get(1);
+            assertEquals(2, second.rowNum());
+            assertNull(second.get(0));
+            assertEquals("42", second.get(1));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void readMissingSheetThrowsExcelException() throws IOException {
+        Path file = ExcelUtil.writeToTempFile(List.of(new Order()));
+        try {
+            assertThrows(ExcelUtil.ExcelException.class, () -> ExcelUtil.read(file, 1, row -> {
+            }));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void readBeanMatchesColumnsByHeaderAndSkipsEmptyCells() throws IOException {
+        Path file = Files.createTempFile("excel", ".xlsx");
+        try {
+            try (Workbook workbook = new XSSFWorkbook(); OutputStream os = Files.newOutputStream(file)) {
+                Sheet sheet = workbook.createSheet();
+                Row header = sheet.createRow(0);
+                header.createCell(0).setCellValue("备注");
+                header.createCell(1).setCellValue("名称");
+                header.createCell(2).setCellValue("编号");
+                Row row = sheet.createRow(1);
+                row.createCell(0).setCellValue("忽略");
+                row.createCell(2).setCellValue(7);
+                workbook.write(os);
+            }
+            List<Order> orders = new ArrayList<>();
+            ExcelUtil.read(file, 0, Order.class, orders::add);
+
+            assertEquals(1, orders.size());
+            Order order = orders.get(0);
+            assertEquals(7L, order.getId());
+            assertNull(order.getName());
+            assertNull(order.getAmount());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Data
+    public static class Order {
+
+        @ExcelProperty("编号")
+        private Long id;
+
+        @ExcelProperty("金额")
+        private BigDecimal amount;
+
+        @ExcelProperty("数量")
+        private Integer count;
+
+        @ExcelProperty("名称")
+        private String name;
+
+        @ExcelProperty("创建时间")
+        private LocalDateTime createTime;
+    }
+}
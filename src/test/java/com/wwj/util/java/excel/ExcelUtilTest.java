@@ -0,0 +1,135 @@
+package com.wwj.util.java.excel;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Name;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExcelUtilTest {
+
+    private static final Map<Integer, BiConsumer<Cell, Cell>> SUM_COLUMN_2 = Map.of(2,
+            (total, cell) -> total.setCellValue(total.getNumericCellValue() + cell.getNumericCellValue()));
+
+    @Test
+    void mergedRegionReduceCompactsRowsWithStylesAndMergedRegions() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("s");
+            CellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.createDataFormat().getFormat("0.00"));
+            sheet.createRow(0).createCell(0).setCellValue("分组");
+            for (int g = 0; g < 3; g++) {
+                int firstRow = g * 4 + 1;
+                for (int i = 0; i < 4; i++) {
+                    Row row = sheet.createRow(firstRow + i);
+                    row.createCell(0).setCellValue("g" + g);
+                    row.createCell(1).setCellValue(i % 2 == 0 ? "a" : "b");
+                    Cell amount = row.createCell(2);
+                    amount.setCellValue(1);
+                    amount.setCellStyle(amountStyle);
+                }
+                sheet.getRow(firstRow).setHeightInPoints(30);
+                sheet.addMergedRegion(new CellRangeAddress(firstRow, firstRow + 3, 0, 0));
+            }
+            // 跨越被删除行的其他合并单元格同样按删除的行数缩减
+            sheet.addMergedRegion(new CellRangeAddress(9, 12, 3, 4));
+
+            ExcelUtil.mergedRegionReduce(sheet, 1, 0, List.of(1), SUM_COLUMN_2);
+
+            assertEquals(6, sheet.getLastRowNum());
+            List<CellRangeAddress> mergedRegions = sheet.getMergedRegions();
+            assertEquals(4, mergedRegions.size());
+            assertTrue(mergedRegions.contains(new CellRangeAddress(1, 2, 0, 0)));
+            assertTrue(mergedRegions.contains(new CellRangeAddress(3, 4, 0, 0)));
+            assertTrue(mergedRegions.contains(new CellRangeAddress(5, 6, 0, 0)));
+            assertTrue(mergedRegions.contains(new CellRangeAddress(5, 6, 3, 4)));
+            for (int g = 0; g < 3; g++) {
+                Row a = sheet.getRow(g * 2 + 1);
+                Row b = sheet.getRow(g * 2 + 2);
+                assertEquals("g" + g, a.getCell(0).getStringCellValue());
+                assertEquals("a", a.getCell(1).getStringCellValue());
+                assertEquals("b", b.getCell(1).getStringCellValue());
+                assertEquals(2, a.getCell(2).getNumericCellValue());
+                assertEquals(2, b.getCell(2).getNumericCellValue());
+                assertEquals(amountStyle.getIndex(), a.getCell(2).getCellStyle().getIndex());
+                assertEquals(30, a.getHeightInPoints());
+            }
+        }
+    }
+
+    @Test
+    void parallelMergedRegionReduceAppliesStringAccumulatorsInOrder() throws IOException {
+        int groups = 200;
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("s");
+            for (int g = 0; g < groups; g++) {
+                int firstRow = g * 3;
+                for (int i = 0; i < 3; i++) {
+                    Row row = sheet.createRow(firstRow + i);
+                    row.createCell(0).setCellValue("g" + g);
+                    row.createCell(1).setCellValue("k");
+                    row.createCell(2).setCellValue("v" + g + "-" + i);
+                }
+                sheet.addMergedRegion(new CellRangeAddress(firstRow, firstRow + 2, 0, 0));
+            }
+            Map<Integer, BiConsumer<Cell, Cell>> joinColumn2 = Map.of(2,
+                    (first, cell) -> first.setCellValue(first.getStringCellValue() + "," + cell.getStringCellValue()));
+
+            ExcelUtil.mergedRegionReduce(sheet, 0, 0, List.of(1), joinColumn2, true);
+
+            assertEquals(groups - 1, sheet.getLastRowNum());
+            for (int g = 0; g < groups; g++) {
+                Row row = sheet.getRow(g);
+                assertEquals("g" + g, row.getCell(0).getStringCellValue());
+                assertEquals("v" + g + "-0,v" + g + "-1,v" + g + "-2", row.getCell(2).getStringCellValue());
+            }
+        }
+    }
+
+    @Test
+    void mergedRegionReduceUpdatesNamesReferringToSheet() throws IOException {
+        try (Workbook workbook = new XSSFWorkbook()) {
+            Sheet sheet = workbook.createSheet("s");
+            sheet.createRow(0).createCell(0).setCellValue("分组");
+            for (int i = 1; i <= 8; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("g" + (i - 1) / 2);
+                row.createCell(1).setCellValue("k");
+                row.createCell(2).setCellValue(i);
+            }
+            for (int i = 1; i <= 8; i += 2) {
+                sheet.addMergedRegion(new CellRangeAddress(i, i + 1, 0, 0));
+            }
+            sheet.createRow(9).createCell(0).setCellValue("合计");
+            sheet.createRow(10).createCell(0).setCellValue("尾行");
+            Name tail = workbook.createName();
+            tail.setNameName("TAIL");
+            tail.setRefersToFormula("s!$A$11");
+
+            ExcelUtil.mergedRegionReduce(sheet, 1, 0, List.of(1), SUM_COLUMN_2);
+
+            assertEquals("s!$A$7", workbook.getName("TAIL").getRefersToFormula());
+            assertEquals(6, sheet.getLastRowNum());
+            assertEquals(0, sheet.getNumMergedRegions());
+            for (int g = 0; g < 4; g++) {
+                Row row = sheet.getRow(g + 1);
+                assertEquals("g" + g, row.getCell(0).getStringCellValue());
+                assertEquals(g * 4 + 3, row.getCell(2).getNumericCellValue());
+            }
+            assertEquals("合计", sheet.getRow(5).getCell(0).getStringCellValue());
+            assertEquals("尾行", sheet.getRow(6).getCell(0).getStringCellValue());
+        }
+    }
+}
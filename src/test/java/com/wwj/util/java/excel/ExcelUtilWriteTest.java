@@ -0,0 +1,112 @@
+package com.wwj.util.java.excel;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExcelUtilWriteTest {
+
+    private static final Path TEMP_DIR = Path.of(System.getProperty("java.io.tmpdir"));
+
+    @Test
+    void writeToTempFileStreamingDeletesFileWhenIterationFails() throws IOException {
+        Set<Path> before = listExcelFiles();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> ExcelUtil.writeToTempFileStreaming(failingAfter(500)));
+
+        assertEquals("读取数据失败", e.getMessage());
+        assertEquals(before, listExcelFiles());
+    }
+
+    @Test
+    void writeToTempFilesDeletesFinishedChunksWhenIterationFails() throws IOException {
+        Set<Path> before = listExcelFiles();
+
+        assertThrows(IllegalStateException.class,
+                () -> ExcelUtil.writeToTempFiles(failingAfter(250), 100, 1, Runnable::run));
+
+        assertEquals(before, listExcelFiles());
+    }
+
+    @Test
+    void writeToTempFilesDeletesFinishedChunksWhenExecutorRejects() throws IOException {
+        Set<Path> before = listExcelFiles();
+        AtomicInteger submitted = new AtomicInteger();
+        Executor executor = task -> {
+            if (submitted.incrementAndGet() > 2) {
+                throw new RejectedExecutionException("线程池已满");
+            }
+            task.run();
+        };
+
+        assertThrows(RejectedExecutionException.class, () -> ExcelUtil.writeToTempFiles(
+                IntStream.range(0, 500).mapToObj(i -> new Item(i, "名称" + i)).iterator(), 100, 1, executor));
+
+        assertEquals(3, submitted.get());
+        assertEquals(before, listExcelFiles());
+    }
+
+    @Test
+    void writeToTempFileDeletesPartlyWrittenFileWhenWorkbookWriteFails() throws IOException {
+        Set<Path> before = listExcelFiles();
+        Workbook workbook = new SXSSFWorkbook() {
+            @Override
+            public void write(OutputStream stream) throws IOException {
+                stream.write(new byte[1024]);
+                stream.flush();
+                throw new IOException("磁盘已满");
+            }
+        };
+
+        assertThrows(ExcelUtil.ExcelException.class, () -> ExcelUtil.writeToTempFile(workbook));
+
+        assertEquals(before, listExcelFiles());
+    }
+
+    /**
+     * 迭代rows个元素后抛出异常的迭代器
+     */
+    static Iterator<Item> failingAfter(int rows) {
+        return Stream.concat(IntStream.range(0, rows).mapToObj(i -> new Item(i, "名称" + i)),
+                Stream.<Item>generate(() -> {
+                    throw new IllegalStateException("读取数据失败");
+                })).iterator();
+    }
+
+    static Set<Path> listExcelFiles() throws IOException {
+        try (Stream<Path> files = Files.list(TEMP_DIR)) {
+            return files.filter(path -> path.getFileName().toString().matches("excel.*\\.xlsx"))
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+
+        @ExcelProperty("编号")
+        private int id;
+
+        @ExcelProperty("名称")
+        private String name;
+    }
+}